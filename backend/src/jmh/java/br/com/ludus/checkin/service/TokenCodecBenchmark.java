@@ -0,0 +1,67 @@
+package br.com.ludus.checkin.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link TokenCodec} with the per-call digest and {@code String.format} encoding it replaced.
+ * Run with {@code mvn -Pjmh test-compile exec:exec}; add {@code -Djmh.args="-prof gc"} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenCodecBenchmark {
+
+    private TokenCodec tokenCodec;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenCodec = new TokenCodec();
+        token = tokenCodec.newToken();
+    }
+
+    @Benchmark
+    public String hashWithCodec() {
+        return tokenCodec.hash(token);
+    }
+
+    @Benchmark
+    public String hashLegacy() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public String newTokenWithCodec() {
+        return tokenCodec.newToken();
+    }
+
+    @Benchmark
+    public String newTokenLegacy() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
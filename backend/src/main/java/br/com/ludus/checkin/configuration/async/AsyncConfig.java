@@ -0,0 +1,26 @@
+package br.com.ludus.checkin.configuration.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /** One virtual thread per outgoing message; concurrency and rate are bounded by the dispatcher. */
+    @Bean(destroyMethod = "close")
+    public ExecutorService whatsAppDispatchExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("whatsapp-", 0).factory());
+    }
+
+    /** Term rollover chunks; each worker holds one pooled connection, so the pool size bounds that too. */
+    @Bean(destroyMethod = "close")
+    public ExecutorService classRolloverExecutor(@Value("${dancing-class.rollover.parallelism:4}") final int parallelism) {
+        return Executors.newFixedThreadPool(Math.max(parallelism, 1), Thread.ofPlatform().name("class-rollover-", 0).factory());
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.ludus.checkin.configuration.cache;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Hibernate second-level cache for reference data, held in local Caffeine caches behind JCache. Every
+ * region is declared here with its own size bound; Hibernate refuses to start if an entity names a region
+ * missing from this list. Hit and miss counts are published as the {@code cache.*} meters.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String BEAT = "beat";
+    public static final String PERMISSION = "permission";
+    public static final String USER_PERMISSIONS = "user-permissions";
+    public static final String DANCING_CLASS_HEADER = "dancing-class-header";
+
+    private static final List<String> REGIONS = List.of(BEAT, PERMISSION, USER_PERMISSIONS, DANCING_CLASS_HEADER);
+
+    /** One manager per application context, so contexts sharing a JVM (tests) never share entries. */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(final Environment environment) {
+        final var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        final var cacheManager = provider.getCacheManager(
+                URI.create("checkin-second-level-" + UUID.randomUUID()), this.getClass().getClassLoader());
+        final long ttlMinutes = environment.getProperty("second-level-cache.expire-after-write-minutes", Long.class, 60L);
+        for (final String region : REGIONS) {
+            final long maxSize = environment.getProperty("second-level-cache.max-size." + region, Long.class, 1_000L);
+            final var configuration = new CaffeineConfiguration<Object, Object>();
+            // Hibernate caches its own disassembled state; copying it on every get and put buys nothing.
+            configuration.setStoreByValue(false);
+            configuration.setMaximumSize(OptionalLong.of(Math.max(maxSize, 1)));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(Math.max(ttlMinutes, 1))));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(final CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(final CacheManager secondLevelCacheManager) {
+        return registry -> REGIONS.forEach(region -> JCacheMetrics.monitor(
+                registry, secondLevelCacheManager.getCache(region), Tags.of("cache.manager", "hibernate")));
+    }
+}
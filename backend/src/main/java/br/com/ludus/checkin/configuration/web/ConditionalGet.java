@@ -0,0 +1,24 @@
+package br.com.ludus.checkin.configuration.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response depends only on the listed tables (and its request parameters).
+ * {@link ConditionalGetInterceptor} tags the response with an ETag built from those tables' change
+ * counters and answers a matching {@code If-None-Match} with 304 before the handler runs.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /** Tables read by the endpoint; each needs a {@code f_bump_table_version} trigger in schema-all.sql. */
+    String[] tables();
+
+    /** Whether the response also changes with the date, e.g. lessons left counted from today. */
+    boolean dependsOnToday() default false;
+}
@@ -0,0 +1,47 @@
+package br.com.ludus.checkin.configuration.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import br.com.ludus.checkin.service.TableVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for {@link ConditionalGet} endpoints. Runs before the handler, so a re-poll of an
+ * unchanged list costs the version lookup and an empty 304 instead of the list query and its payload.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /** Private: responses need the caller's token. No-cache: revalidate on every use instead of guessing freshness. */
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final TableVersionService tableVersionService;
+
+    public ConditionalGetInterceptor(final TableVersionService tableVersionService) {
+        this.tableVersionService = tableVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        final var conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+        final var etag = this.tableVersionService.etag(conditionalGet.tables(), conditionalGet.dependsOnToday());
+        if (etag == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.ludus.checkin.configuration.web;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits at most as many requests as the connection pool can serve, minus the connections kept for the
+ * schedulers. With virtual threads Tomcat no longer caps concurrency, so without this every request of a
+ * burst would queue inside Hikari and fail after its 30s timeout; here the excess waits briefly on a
+ * semaphore and is then turned away with 503 and {@code Retry-After}. Runs after the security chain, so
+ * rejected credentials never take a permit. An async request (streamed export) keeps its permit until it
+ * completes.
+ * <p>
+ * A permit stands for one pooled connection, which holds for every request but the term rollover
+ * ({@code POST /dancing-class/progress}): it fans its chunks out to {@code dancing-class.rollover.parallelism}
+ * workers, each holding its own connection, so it takes that many permits (at most all of them).
+ */
+@Component
+public class DatabaseBulkheadFilter extends OncePerRequestFilter {
+
+    private static final String ROLLOVER_PATH = "/dancing-class/progress";
+    private static final String REJECTED_BODY =
+            "{\"error\":\"Service unavailable\",\"message\":\"Servidor ocupado, tente novamente em instantes.\"}";
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final int rolloverPermits;
+    private final long maxWaitMs;
+    private final int maxWaiting;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+
+    public DatabaseBulkheadFilter(
+            @Value("${bulkhead.enabled:true}") final boolean enabled,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int poolSize,
+            @Value("${bulkhead.reserved-connections:2}") final int reservedConnections,
+            @Value("${dancing-class.rollover.parallelism:4}") final int rolloverParallelism,
+            @Value("${bulkhead.max-wait-ms:2000}") final long maxWaitMs,
+            @Value("${bulkhead.max-waiting:1000}") final int maxWaiting,
+            final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        final var total = Math.max(poolSize - reservedConnections, 1);
+        this.permits = new Semaphore(total, true);
+        this.rolloverPermits = Math.min(Math.max(rolloverParallelism, 1), total);
+        this.maxWaitMs = Math.max(maxWaitMs, 0);
+        this.maxWaiting = Math.max(maxWaiting, 0);
+        this.rejected = Counter.builder("bulkhead.rejected").register(meterRegistry);
+        Gauge.builder("bulkhead.available", this.permits, Semaphore::availablePermits).register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", this.waiting, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        final var path = path(request);
+        return !this.enabled
+                || path.startsWith("/actuator")
+                || path.startsWith("/swagger-ui")
+                || path.startsWith("/v3/api-docs");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        final var weight = this.permitsFor(request);
+        if (!this.acquire(weight)) {
+            this.rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(TimeUnit.MILLISECONDS.toSeconds(this.maxWaitMs), 1)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write(REJECTED_BODY);
+            return;
+        }
+
+        final var released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(released, weight));
+            } else {
+                this.release(released, weight);
+            }
+        }
+    }
+
+    private int permitsFor(HttpServletRequest request) {
+        return HttpMethod.POST.matches(request.getMethod()) && ROLLOVER_PATH.equals(path(request))
+                ? this.rolloverPermits
+                : 1;
+    }
+
+    private boolean acquire(int weight) throws ServletException {
+        if (this.permits.tryAcquire(weight)) {
+            return true;
+        }
+        if (this.waiting.incrementAndGet() > this.maxWaiting) {
+            this.waiting.decrementAndGet();
+            return false;
+        }
+        try {
+            return this.permits.tryAcquire(weight, this.maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(ex);
+        } finally {
+            this.waiting.decrementAndGet();
+        }
+    }
+
+    private void release(AtomicBoolean released, int weight) {
+        if (released.compareAndSet(false, true)) {
+            this.permits.release(weight);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final AtomicBoolean released;
+        private final int weight;
+
+        private ReleaseOnComplete(AtomicBoolean released, int weight) {
+            this.released = released;
+            this.weight = weight;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(this.released, this.weight);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(this.released, this.weight);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(this.released, this.weight);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import br.com.ludus.checkin.configuration.web.ConditionalGet;
 import br.com.ludus.checkin.model.Beat;
 import br.com.ludus.checkin.service.BeatService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +36,7 @@ public class BeatController {
 
     @Operation(tags = { "Beat" }, summary = "Find all beats")
     @GetMapping
+    @ConditionalGet(tables = "beat")
     public ResponseEntity<List<Beat>> showBeats(
             @PageableDefault(sort = "name", direction = Direction.ASC) Pageable pageable) {
         final var response = this.beatService.findAll(pageable);
@@ -10,12 +10,17 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import br.com.ludus.checkin.configuration.web.ConditionalGet;
 import br.com.ludus.checkin.dto.dancing.ClassStatusDto;
 import br.com.ludus.checkin.dto.dancing.DancingClassCreateDto;
+import br.com.ludus.checkin.dto.dancing.DancingClassDto;
 import br.com.ludus.checkin.dto.dancing.HowManyLessonsDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchResultDto;
 import br.com.ludus.checkin.dto.dancing.ProgressClassDto;
 import br.com.ludus.checkin.dto.dancing.RegisterStudentsDto;
-import br.com.ludus.checkin.model.DancingClass;
+import br.com.ludus.checkin.dto.dancing.RegisterStudentsResultDto;
+import br.com.ludus.checkin.service.ClassRolloverService;
 import br.com.ludus.checkin.service.DancingClassService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -30,19 +35,20 @@ import lombok.AllArgsConstructor;
 public class DancingClassController {
 
     private final DancingClassService dancingClassService;
+    private final ClassRolloverService classRolloverService;
 
     @Operation(tags = { "Dancing-Class" }, summary = "Create a new dancing class")
     @PostMapping
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<DancingClass> create(@RequestBody final DancingClassCreateDto data) {
+    public ResponseEntity<DancingClassDto> create(@RequestBody final DancingClassCreateDto data) {
         final var response = this.dancingClassService.create(data);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(tags = { "Dancing-Class" }, summary = "Register students in dancing class")
+    @Operation(tags = { "Dancing-Class" }, summary = "Register students in dancing class or change their role; returns the ids added, updated, unchanged and unknown")
     @PatchMapping("/students")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<DancingClass> registerStudents(@RequestBody final RegisterStudentsDto data) {
+    public ResponseEntity<RegisterStudentsResultDto> registerStudents(@RequestBody final RegisterStudentsDto data) {
         final var response = this.dancingClassService.registerStudents(data.dancingClassId(), data.enrollments());
         return ResponseEntity.ok(response);
     }
@@ -50,13 +56,19 @@ public class DancingClassController {
     @Operation(tags = { "Dancing-Class" }, summary = "Progress class: finalize current and create new with same structure and enrollments")
     @PostMapping("/{id}/progress")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<DancingClass> progressClass(
+    public ResponseEntity<DancingClassDto> progressClass(
             @PathVariable Long id,
             @RequestBody @Valid ProgressClassDto dto) {
-        DancingClass newClass = this.dancingClassService.progressClass(id, dto);
+        DancingClassDto newClass = this.dancingClassService.progressClass(id, dto);
         return ResponseEntity.ok(newClass);
     }
 
+    @Operation(tags = { "Dancing-Class" }, summary = "Term rollover: progress many classes at once; each class reports its new id or why it failed")
+    @PostMapping("/progress")
+    public ResponseEntity<ProgressClassBatchResultDto> progressClasses(@RequestBody @Valid ProgressClassBatchDto dto) {
+        return ResponseEntity.ok(this.classRolloverService.progressAll(dto));
+    }
+
     @Operation(tags = { "Dancing-Class" }, summary = "Remove student from dancing class")
     @DeleteMapping("/{classId}/students/{studentId}")
     @Transactional(rollbackFor = Exception.class)
@@ -77,21 +89,22 @@ public class DancingClassController {
     @Operation(tags = { "Dancing-Class" }, summary = "Archive dancing class")
     @PatchMapping("/{id}/archive")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<DancingClass> archive(@PathVariable Long id) {
+    public ResponseEntity<DancingClassDto> archive(@PathVariable Long id) {
         return ResponseEntity.ok(this.dancingClassService.setArchived(id, true));
     }
 
     @Operation(tags = { "Dancing-Class" }, summary = "Unarchive dancing class")
     @PatchMapping("/{id}/unarchive")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<DancingClass> unarchive(@PathVariable Long id) {
+    public ResponseEntity<DancingClassDto> unarchive(@PathVariable Long id) {
         return ResponseEntity.ok(this.dancingClassService.setArchived(id, false));
     }
 
     @Operation(tags = { "Dancing-Class" }, summary = "Find all dancing class")
     @GetMapping
+    @ConditionalGet(tables = { "dancing_class", "beat", "dancing_class_student", "student" })
     @Transactional(readOnly = true)
-    public ResponseEntity<List<DancingClass>> showAllDancingClass(
+    public ResponseEntity<List<DancingClassDto>> showAllDancingClass(
             @PageableDefault(sort = "beat.name", direction = Direction.ASC, size = 500) Pageable pageable,
             @RequestParam(required = false) String level,
             @RequestParam(required = false) String status,
@@ -107,16 +120,15 @@ public class DancingClassController {
 
     @Operation(tags = { "Dancing-Class" }, summary = "Return how many lessons are left by dancing-class")
     @GetMapping("/how-many")
+    @ConditionalGet(tables = { "dancing_class", "lesson", "beat" }, dependsOnToday = true)
     public ResponseEntity<List<HowManyLessonsDto>> howManyLessonsAreLeft() {
-        final var response = this.dancingClassService.findHowManyLessonsAreLeft()
-                .stream()
-                .map(HowManyLessonsDto::toDto)
-                .toList();
+        final var response = this.dancingClassService.findHowManyLessonsAreLeft();
         return ResponseEntity.ok(response);
     }
 
     @Operation(tags = { "Dancing-Class" }, summary = "List classes for dashboard status (in progress + recently closed)")
     @GetMapping("/status")
+    @ConditionalGet(tables = { "dancing_class", "beat", "holiday" }, dependsOnToday = true)
     public ResponseEntity<List<ClassStatusDto>> getClassesStatus() {
         return ResponseEntity.ok(this.dancingClassService.findAllForStatusDashboard());
     }
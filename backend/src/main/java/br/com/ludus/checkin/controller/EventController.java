@@ -1,15 +1,18 @@
 package br.com.ludus.checkin.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import br.com.ludus.checkin.dto.event.AddParticipantDto;
 import br.com.ludus.checkin.dto.event.EventCreateDto;
+import br.com.ludus.checkin.dto.event.EventDto;
+import br.com.ludus.checkin.dto.event.EventSummaryPageDto;
 import br.com.ludus.checkin.enums.EventStatusEnum;
-import br.com.ludus.checkin.model.Event;
 import br.com.ludus.checkin.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -28,37 +31,49 @@ public class EventController {
     @Operation(tags = { "Event" }, summary = "Listar todos os eventos")
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Event>> list() {
+    public ResponseEntity<List<EventDto>> list() {
         return ResponseEntity.ok(eventService.findAll());
     }
 
+    @Operation(tags = { "Event" }, summary = "Resumo paginado dos eventos (contagem de participantes, vagas e valor arrecadado)")
+    @GetMapping("/summary")
+    public ResponseEntity<EventSummaryPageDto> summary(
+            @RequestParam(name = "status", required = false) EventStatusEnum status,
+            @RequestParam(name = "archived", required = false) Boolean archived,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return ResponseEntity.ok(eventService.findSummaries(status, archived, from, to, cursor, size));
+    }
+
     @Operation(tags = { "Event" }, summary = "Buscar evento por ID")
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
-    public ResponseEntity<Event> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.findById(id));
+    public ResponseEntity<EventDto> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(eventService.findDetail(id));
     }
 
     @Operation(tags = { "Event" }, summary = "Criar evento")
     @PostMapping
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> create(@RequestBody EventCreateDto dto) {
+    public ResponseEntity<EventDto> create(@RequestBody EventCreateDto dto) {
         return ResponseEntity.ok(eventService.create(dto));
     }
 
     @Operation(tags = { "Event" }, summary = "Atualizar evento")
     @PutMapping("/{id}")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> update(@PathVariable Long id, @RequestBody EventCreateDto dto) {
+    public ResponseEntity<EventDto> update(@PathVariable Long id, @RequestBody EventCreateDto dto) {
         return ResponseEntity.ok(eventService.update(id, dto));
     }
 
     @Operation(tags = { "Event" }, summary = "Atualizar apenas status do evento")
     @PatchMapping("/{id}/status")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> updateStatus(@PathVariable Long id, @RequestParam EventStatusEnum status) {
+    public ResponseEntity<EventDto> updateStatus(@PathVariable Long id, @RequestParam EventStatusEnum status) {
         eventService.updateStatus(id, status);
-        return ResponseEntity.ok(eventService.findById(id));
+        return ResponseEntity.ok(eventService.findDetail(id));
     }
 
     @Operation(tags = { "Event" }, summary = "Excluir evento")
@@ -71,21 +86,21 @@ public class EventController {
     @Operation(tags = { "Event" }, summary = "Arquivar evento")
     @PatchMapping("/{id}/archive")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> archive(@PathVariable Long id) {
+    public ResponseEntity<EventDto> archive(@PathVariable Long id) {
         return ResponseEntity.ok(eventService.setArchived(id, true));
     }
 
     @Operation(tags = { "Event" }, summary = "Desarquivar evento")
     @PatchMapping("/{id}/unarchive")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> unarchive(@PathVariable Long id) {
+    public ResponseEntity<EventDto> unarchive(@PathVariable Long id) {
         return ResponseEntity.ok(eventService.setArchived(id, false));
     }
 
     @Operation(tags = { "Event" }, summary = "Inscrever aluno no evento")
     @PostMapping("/{id}/participants")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> addParticipant(@PathVariable Long id, @RequestBody AddParticipantDto dto) {
+    public ResponseEntity<EventDto> addParticipant(@PathVariable Long id, @RequestBody AddParticipantDto dto) {
         boolean hasStudent = dto.studentId() != null;
         boolean hasExternal = dto.externalParticipantName() != null && !dto.externalParticipantName().isBlank();
         if (!hasStudent && !hasExternal) {
@@ -97,7 +112,7 @@ public class EventController {
     @Operation(tags = { "Event" }, summary = "Remover aluno do evento")
     @DeleteMapping("/{id}/participants/{studentId}")
     @Transactional(rollbackFor = Exception.class)
-    public ResponseEntity<Event> removeParticipant(@PathVariable Long id, @PathVariable Long studentId) {
+    public ResponseEntity<EventDto> removeParticipant(@PathVariable Long id, @PathVariable Long studentId) {
         return ResponseEntity.ok(eventService.removeParticipant(id, studentId));
     }
 }
@@ -8,8 +8,9 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import br.com.ludus.checkin.configuration.web.ConditionalGet;
 import br.com.ludus.checkin.dto.lesson.LessonCreateDto;
-import br.com.ludus.checkin.model.Lesson;
+import br.com.ludus.checkin.dto.lesson.LessonDto;
 import br.com.ludus.checkin.service.LessonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -29,14 +30,15 @@ public class LessonController {
     @Operation(tags = { "Lesson" }, summary = "Create a new lesson")
     @PostMapping
     @Transactional
-    public ResponseEntity<Lesson> create(@RequestBody final LessonCreateDto data) {
+    public ResponseEntity<LessonDto> create(@RequestBody final LessonCreateDto data) {
         final var response = this.lessonService.create(data);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(LessonDto.toDto(response));
     }
 
     @Operation(tags = { "Lesson" }, summary = "Find all Lessons by dancing-class")
     @GetMapping
-    public ResponseEntity<List<Lesson>> showAllLessonByDancinClass(
+    @ConditionalGet(tables = "lesson")
+    public ResponseEntity<List<LessonDto>> showAllLessonByDancinClass(
             @PageableDefault(sort = "day", direction = Direction.DESC) Pageable pageable,
             @RequestParam(name = "id", required = true) Long id) {
         final var response = this.lessonService.findAllByDancingClassId(pageable, id);
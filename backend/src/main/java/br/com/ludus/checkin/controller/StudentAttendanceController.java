@@ -4,15 +4,21 @@ import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.ludus.checkin.dto.attendance.StudentAttendanceDto;
 import br.com.ludus.checkin.dto.attendance.StudentAttendanceItemDto;
 import br.com.ludus.checkin.dto.attendance.SendAttendanceRequestDto;
 import br.com.ludus.checkin.dto.attendance.SendAttendanceResponseDto;
+import br.com.ludus.checkin.dto.attendance.UpdateAttendanceBatchDto;
 import br.com.ludus.checkin.dto.attendance.UpdateAttendanceDto;
-import br.com.ludus.checkin.model.StudentAttendance;
 import br.com.ludus.checkin.service.AttendanceConfirmationService;
+import br.com.ludus.checkin.service.AttendanceExportService;
 import br.com.ludus.checkin.service.StudentAttendanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -28,6 +34,7 @@ public class StudentAttendanceController {
 
     private final StudentAttendanceService studentAttendanceService;
     private final AttendanceConfirmationService attendanceConfirmationService;
+    private final AttendanceExportService attendanceExportService;
 
     @Operation(summary = "List attendance by class and date (enrolled students with status; missing = PENDENTE)")
     @GetMapping
@@ -37,10 +44,34 @@ public class StudentAttendanceController {
         return ResponseEntity.ok(studentAttendanceService.listByClassAndDate(classId, attendanceDate));
     }
 
+    @Operation(summary = "Export attendance history for a date range as CSV or XLSX, streamed as it is read")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long classId,
+            @RequestParam(defaultValue = "csv") String format) {
+        var exportFormat = attendanceExportService.parseFormat(format);
+        var body = attendanceExportService.export(from, to, classId, exportFormat);
+        var disposition = ContentDisposition.attachment()
+                .filename(attendanceExportService.fileName(from, to, classId, exportFormat))
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
     @Operation(summary = "Create or update attendance for a student in a class on a date")
     @PutMapping
-    public ResponseEntity<StudentAttendance> createOrUpdate(@RequestBody UpdateAttendanceDto dto) {
-        return ResponseEntity.ok(studentAttendanceService.createOrUpdate(dto));
+    public ResponseEntity<StudentAttendanceDto> createOrUpdate(@RequestBody UpdateAttendanceDto dto) {
+        return ResponseEntity.ok(StudentAttendanceDto.toDto(studentAttendanceService.createOrUpdate(dto)));
+    }
+
+    @Operation(summary = "Create or update the attendance of many students of a class on a date at once")
+    @PutMapping("/batch")
+    public ResponseEntity<List<StudentAttendanceItemDto>> updateBatch(@RequestBody UpdateAttendanceBatchDto dto) {
+        return ResponseEntity.ok(studentAttendanceService.updateBatch(dto));
     }
 
     @Operation(summary = "Send WhatsApp attendance confirmation links for all class students (today)")
@@ -9,9 +9,11 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import br.com.ludus.checkin.configuration.web.ConditionalGet;
 import br.com.ludus.checkin.dto.student.StudentCreateDto;
+import br.com.ludus.checkin.dto.student.StudentDto;
+import br.com.ludus.checkin.dto.student.StudentSearchPageDto;
 import br.com.ludus.checkin.dto.student.StudentUpdateDto;
-import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -31,27 +33,36 @@ public class StudentController {
     @Operation(tags = { "Student" }, summary = "Create a new Student")
     @PostMapping
     @Transactional
-    public ResponseEntity<Student> create(@RequestBody final StudentCreateDto data) {
+    public ResponseEntity<StudentDto> create(@RequestBody final StudentCreateDto data) {
         final var response = this.studentService.create(data.toEntity());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(StudentDto.toDto(response));
+    }
+
+    @Operation(tags = { "Student" }, summary = "Import many students at once (up to 1000)")
+    @PostMapping("/import")
+    public ResponseEntity<List<StudentDto>> importStudents(@RequestBody final List<StudentCreateDto> data) {
+        final var entities = data.stream().map(StudentCreateDto::toEntity).toList();
+        final var response = this.studentService.importStudents(entities);
+        return ResponseEntity.ok(response.stream().map(StudentDto::toDto).toList());
     }
 
     @Operation(tags = { "Student" }, summary = "Update Student")
     @PutMapping("/{id}")
     @Transactional
-    public ResponseEntity<Student> update(@PathVariable Long id, @RequestBody final StudentUpdateDto data) {
+    public ResponseEntity<StudentDto> update(@PathVariable Long id, @RequestBody final StudentUpdateDto data) {
         final var entity = this.studentService.findById(id);
         entity.setName(data.name());
         entity.setContact(data.contact());
         entity.setBirth(data.birth());
         entity.setEmail(data.email());
         final var response = this.studentService.update(entity);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(StudentDto.toDto(response));
     }
 
     @Operation(tags = { "Student" }, summary = "Find all ")
     @GetMapping
-    public ResponseEntity<List<Student>> showAllStudents(
+    @ConditionalGet(tables = "student")
+    public ResponseEntity<List<StudentDto>> showAllStudents(
             @PageableDefault(sort = "name", direction = Direction.ASC) Pageable pageable,
             @RequestParam(name = "search", required = false) String search,
             @RequestParam(name = "limit", required = false) Integer limit) {
@@ -61,9 +72,19 @@ public class StudentController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(tags = { "Student" }, summary = "Search students by name, CPF or contact (typeahead, cursor paginated)")
+    @GetMapping("/search")
+    public ResponseEntity<StudentSearchPageDto> search(
+            @RequestParam(name = "q") String term,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return ResponseEntity.ok(this.studentService.search(term, cursor, size));
+    }
+
     @Operation(tags = { "Student" }, summary = "Find all Students enrollment in dancing class")
     @GetMapping("/dancing-class")
-    public ResponseEntity<List<Student>> showAllStudents(
+    @ConditionalGet(tables = { "student", "dancing_class_student" })
+    public ResponseEntity<List<StudentDto>> showAllStudents(
             @PageableDefault(sort = "name", direction = Direction.ASC) Pageable pageable,
             @RequestParam(name = "id", required = true) Long id) {
         final var response = this.studentService.findAllStudentsByDancingClass(pageable, id);
@@ -0,0 +1,19 @@
+package br.com.ludus.checkin.dto.attendance;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** One {@code student_attendance} row with its student, class, beat and lesson, as exported. */
+public record AttendanceHistoryRowDto(
+        LocalDate attendanceDate,
+        Long classId,
+        String beat,
+        String level,
+        String dayWeek,
+        LocalTime startSchedule,
+        LocalTime endSchedule,
+        Long studentId,
+        String studentName,
+        String cpf,
+        String status) {
+}
@@ -0,0 +1,9 @@
+package br.com.ludus.checkin.dto.attendance;
+
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
+
+public record AttendanceRequestUpsertDto(
+        Long studentId,
+        String tokenHash,
+        DeliveryStatusEnum deliveryStatus) {
+}
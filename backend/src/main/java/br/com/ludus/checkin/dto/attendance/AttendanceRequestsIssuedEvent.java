@@ -0,0 +1,9 @@
+package br.com.ludus.checkin.dto.attendance;
+
+import java.time.LocalDate;
+
+/** Published when a class's confirmation tokens for a date were (re)issued, superseding the previous ones. */
+public record AttendanceRequestsIssuedEvent(
+        Long classId,
+        LocalDate date) {
+}
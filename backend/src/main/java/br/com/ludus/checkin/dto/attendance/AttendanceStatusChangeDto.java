@@ -0,0 +1,10 @@
+package br.com.ludus.checkin.dto.attendance;
+
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+
+/** A status written by the sheet upsert, with the one it replaced ({@code null} for a first record). */
+public record AttendanceStatusChangeDto(
+        Long studentId,
+        AttendanceStatusEnum previousStatus,
+        AttendanceStatusEnum status) {
+}
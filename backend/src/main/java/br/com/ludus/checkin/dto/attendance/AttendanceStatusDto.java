@@ -0,0 +1,6 @@
+package br.com.ludus.checkin.dto.attendance;
+
+public record AttendanceStatusDto(
+        Long studentId,
+        String status) {
+}
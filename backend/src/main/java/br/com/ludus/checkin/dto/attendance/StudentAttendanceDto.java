@@ -0,0 +1,23 @@
+package br.com.ludus.checkin.dto.attendance;
+
+import java.time.LocalDate;
+
+import br.com.ludus.checkin.model.StudentAttendance;
+
+public record StudentAttendanceDto(
+        Long id,
+        Long studentId,
+        Long classId,
+        LocalDate attendanceDate,
+        String status) {
+
+    /** Reads only the associations' ids, so neither the student nor the class is loaded to answer. */
+    public static StudentAttendanceDto toDto(final StudentAttendance entity) {
+        return new StudentAttendanceDto(
+                entity.getId(),
+                entity.getStudent().getId(),
+                entity.getDancingClass().getId(),
+                entity.getAttendanceDate(),
+                entity.getStatus().name());
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.ludus.checkin.dto.attendance;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record UpdateAttendanceBatchDto(
+        Long classId,
+        LocalDate attendanceDate,
+        List<AttendanceStatusDto> items) {
+}
@@ -0,0 +1,7 @@
+package br.com.ludus.checkin.dto.beat;
+
+public record BeatDto(
+        Long id,
+        String name,
+        boolean deleted) {
+}
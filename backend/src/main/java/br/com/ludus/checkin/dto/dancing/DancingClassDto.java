@@ -0,0 +1,39 @@
+package br.com.ludus.checkin.dto.dancing;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import br.com.ludus.checkin.dto.beat.BeatDto;
+import br.com.ludus.checkin.enums.LevelDancingEnum;
+import br.com.ludus.checkin.enums.StatusDancingEnum;
+
+public record DancingClassDto(
+        Long id,
+        LevelDancingEnum level,
+        StatusDancingEnum status,
+        DayOfWeek dayWeek,
+        LocalTime startSchedule,
+        LocalTime endSchedule,
+        LocalDate startDate,
+        LocalDate endDate,
+        boolean deleted,
+        boolean archived,
+        BeatDto beat,
+        List<EnrollmentDto> enrollments) {
+
+    /** Projection constructor for the class row; the roster is attached with {@link #withEnrollments}. */
+    public DancingClassDto(Long id, LevelDancingEnum level, StatusDancingEnum status, DayOfWeek dayWeek,
+            LocalTime startSchedule, LocalTime endSchedule, LocalDate startDate, LocalDate endDate,
+            boolean deleted, boolean archived, Long beatId, String beatName, Boolean beatDeleted) {
+        this(id, level, status, dayWeek, startSchedule, endSchedule, startDate, endDate, deleted, archived,
+                beatId == null ? null : new BeatDto(beatId, beatName, Boolean.TRUE.equals(beatDeleted)),
+                List.of());
+    }
+
+    public DancingClassDto withEnrollments(List<EnrollmentDto> enrollments) {
+        return new DancingClassDto(id, level, status, dayWeek, startSchedule, endSchedule, startDate, endDate,
+                deleted, archived, beat, enrollments);
+    }
+}
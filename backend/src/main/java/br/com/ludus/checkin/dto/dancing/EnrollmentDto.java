@@ -0,0 +1,27 @@
+package br.com.ludus.checkin.dto.dancing;
+
+import java.time.LocalDate;
+
+import br.com.ludus.checkin.dto.student.StudentDto;
+
+public record EnrollmentDto(
+        Key id,
+        StudentDto student,
+        String role) {
+
+    public record Key(
+            Long dancingClassId,
+            Long studentId) {
+    }
+
+    /** Projection constructor; the student columns are null when the student was soft-deleted. */
+    public EnrollmentDto(Long dancingClassId, Long enrolledStudentId, String role,
+            Long studentId, String name, String contact, String cpf, String email,
+            Boolean active, Boolean deleted, LocalDate birth, LocalDate enrollmentDate) {
+        this(new Key(dancingClassId, enrolledStudentId),
+                studentId == null ? null
+                        : new StudentDto(studentId, name, contact, cpf, email,
+                                Boolean.TRUE.equals(active), Boolean.TRUE.equals(deleted), birth, enrollmentDate),
+                role);
+    }
+}
@@ -2,20 +2,10 @@ package br.com.ludus.checkin.dto.dancing;
 
 import java.time.LocalDate;
 
-import br.com.ludus.checkin.model.DancingClass;
-
 public record HowManyLessonsDto(
+                Long id,
                 String level,
                 String beat,
                 LocalDate lastDay,
-                int totalLessons) {
-
-        public static HowManyLessonsDto toDto(final DancingClass entity) {
-                return new HowManyLessonsDto(
-                                entity.getLevel().name(),
-                                entity.getBeat().getName(),
-                                entity.getEndDate(),
-                                entity.getLessons().size());
-        }
-
+                long totalLessons) {
 }
@@ -0,0 +1,11 @@
+package br.com.ludus.checkin.dto.dancing;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+public record ProgressClassBatchDto(
+        @NotEmpty(message = "Informe ao menos uma turma")
+        List<@Valid ProgressClassBatchItemDto> classes) {
+}
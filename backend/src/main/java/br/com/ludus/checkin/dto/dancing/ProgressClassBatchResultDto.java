@@ -0,0 +1,9 @@
+package br.com.ludus.checkin.dto.dancing;
+
+import java.util.List;
+
+public record ProgressClassBatchResultDto(
+        int progressed,
+        int failed,
+        List<ProgressClassResultDto> results) {
+}
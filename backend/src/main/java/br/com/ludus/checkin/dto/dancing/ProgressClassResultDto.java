@@ -0,0 +1,13 @@
+package br.com.ludus.checkin.dto.dancing;
+
+/** Outcome of progressing one class; {@code newClassId} is null and {@code error} set when it failed. */
+public record ProgressClassResultDto(
+        Long classId,
+        Long newClassId,
+        int enrollments,
+        String error) {
+
+    public static ProgressClassResultDto failed(Long classId, String error) {
+        return new ProgressClassResultDto(classId, null, 0, error);
+    }
+}
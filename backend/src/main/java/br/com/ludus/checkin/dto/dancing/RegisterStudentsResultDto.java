@@ -0,0 +1,15 @@
+package br.com.ludus.checkin.dto.dancing;
+
+import java.util.List;
+
+/**
+ * What a registration changed: students newly enrolled, students whose role changed, students already
+ * enrolled with the same role, and ids that match no active student (skipped).
+ */
+public record RegisterStudentsResultDto(
+        Long dancingClassId,
+        List<Long> added,
+        List<Long> updated,
+        List<Long> unchanged,
+        List<Long> unknown) {
+}
@@ -0,0 +1,46 @@
+package br.com.ludus.checkin.dto.dashboard;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import br.com.ludus.checkin.enums.StatusDancingEnum;
+
+/**
+ * Deltas a committed write applies to the dashboard counters. Only the fields a write touches are
+ * non-zero; {@code presentDate} is null unless {@code present} is set.
+ */
+public record DashboardCounterEvent(
+        long students,
+        long enrollments,
+        Map<StatusDancingEnum, Long> classes,
+        LocalDate presentDate,
+        long present) {
+
+    public static DashboardCounterEvent students(long delta) {
+        return new DashboardCounterEvent(delta, 0, Map.of(), null, 0);
+    }
+
+    public static DashboardCounterEvent enrollments(long delta) {
+        return new DashboardCounterEvent(0, delta, Map.of(), null, 0);
+    }
+
+    public static DashboardCounterEvent classes(StatusDancingEnum status, long delta) {
+        return new DashboardCounterEvent(0, 0, Map.of(orInProgress(status), delta), null, 0);
+    }
+
+    public static DashboardCounterEvent classMoved(StatusDancingEnum from, StatusDancingEnum to) {
+        if (orInProgress(from) == orInProgress(to)) {
+            return new DashboardCounterEvent(0, 0, Map.of(), null, 0);
+        }
+        return new DashboardCounterEvent(0, 0, Map.of(orInProgress(from), -1L, orInProgress(to), 1L), null, 0);
+    }
+
+    public static DashboardCounterEvent present(LocalDate date, long delta) {
+        return new DashboardCounterEvent(0, 0, Map.of(), date, delta);
+    }
+
+    /** Classes without a status are shown as in progress everywhere else; count them the same way. */
+    public static StatusDancingEnum orInProgress(StatusDancingEnum status) {
+        return status != null ? status : StatusDancingEnum.IN_PROGRESS;
+    }
+}
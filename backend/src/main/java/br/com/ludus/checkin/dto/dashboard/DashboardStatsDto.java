@@ -1,7 +1,11 @@
 package br.com.ludus.checkin.dto.dashboard;
 
+import java.util.Map;
+
 public record DashboardStatsDto(
         long totalStudents,
         long totalClasses,
-        long activeEnrollments) {
+        long activeEnrollments,
+        Map<String, Long> classesByStatus,
+        long todayAttendance) {
 }
@@ -0,0 +1,33 @@
+package br.com.ludus.checkin.dto.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import br.com.ludus.checkin.enums.EventStatusEnum;
+
+public record EventDto(
+        Long id,
+        String name,
+        LocalDate eventDate,
+        LocalTime eventTime,
+        Boolean hasMaxParticipants,
+        Integer maxParticipants,
+        int participantCount,
+        EventStatusEnum status,
+        boolean deleted,
+        boolean archived,
+        List<EventParticipantDto> participants) {
+
+    /** Projection constructor for the event row; participants are attached with {@link #withParticipants}. */
+    public EventDto(Long id, String name, LocalDate eventDate, LocalTime eventTime, Boolean hasMaxParticipants,
+            Integer maxParticipants, int participantCount, EventStatusEnum status, boolean deleted, boolean archived) {
+        this(id, name, eventDate, eventTime, hasMaxParticipants, maxParticipants, participantCount, status, deleted,
+                archived, List.of());
+    }
+
+    public EventDto withParticipants(List<EventParticipantDto> participants) {
+        return new EventDto(id, name, eventDate, eventTime, hasMaxParticipants, maxParticipants, participantCount,
+                status, deleted, archived, participants);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.ludus.checkin.dto.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import br.com.ludus.checkin.dto.student.StudentDto;
+
+public record EventParticipantDto(
+        @JsonIgnore Long eventId,
+        Long id,
+        StudentDto student,
+        String externalParticipantName,
+        BigDecimal amountPaid) {
+
+    /** Projection constructor; the student columns are null for guests and soft-deleted students. */
+    public EventParticipantDto(Long eventId, Long id, String externalParticipantName, BigDecimal amountPaid,
+            Long studentId, String name, String contact, String cpf, String email,
+            Boolean active, Boolean deleted, LocalDate birth, LocalDate enrollmentDate) {
+        this(eventId, id,
+                studentId == null ? null
+                        : new StudentDto(studentId, name, contact, cpf, email,
+                                Boolean.TRUE.equals(active), Boolean.TRUE.equals(deleted), birth, enrollmentDate),
+                externalParticipantName, amountPaid);
+    }
+}
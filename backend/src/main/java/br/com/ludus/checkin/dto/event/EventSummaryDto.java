@@ -0,0 +1,22 @@
+package br.com.ludus.checkin.dto.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import br.com.ludus.checkin.enums.EventStatusEnum;
+
+/** One row of the events page; remainingCapacity is null when the event has no limit. */
+public record EventSummaryDto(
+        Long id,
+        String name,
+        LocalDate eventDate,
+        LocalTime eventTime,
+        EventStatusEnum status,
+        boolean archived,
+        boolean hasMaxParticipants,
+        int maxParticipants,
+        long participantCount,
+        Long remainingCapacity,
+        BigDecimal totalPaid) {
+}
@@ -0,0 +1,8 @@
+package br.com.ludus.checkin.dto.event;
+
+import java.util.List;
+
+public record EventSummaryPageDto(
+        List<EventSummaryDto> content,
+        String nextCursor) {
+}
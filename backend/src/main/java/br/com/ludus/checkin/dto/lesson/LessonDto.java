@@ -0,0 +1,23 @@
+package br.com.ludus.checkin.dto.lesson;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import br.com.ludus.checkin.model.Lesson;
+
+public record LessonDto(
+        Long id,
+        LocalDate day,
+        LocalTime startSchedule,
+        LocalTime endSchedule,
+        boolean deleted) {
+
+    public static LessonDto toDto(final Lesson entity) {
+        return new LessonDto(
+                entity.getId(),
+                entity.getDay(),
+                entity.getStartSchedule(),
+                entity.getEndSchedule(),
+                entity.isDeleted());
+    }
+}
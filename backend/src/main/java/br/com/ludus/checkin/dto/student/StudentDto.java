@@ -0,0 +1,30 @@
+package br.com.ludus.checkin.dto.student;
+
+import java.time.LocalDate;
+
+import br.com.ludus.checkin.model.Student;
+
+public record StudentDto(
+        Long id,
+        String name,
+        String contact,
+        String cpf,
+        String email,
+        boolean active,
+        boolean deleted,
+        LocalDate birth,
+        LocalDate enrollmentDate) {
+
+    public static StudentDto toDto(final Student entity) {
+        return new StudentDto(
+                entity.getId(),
+                entity.getName(),
+                entity.getContact(),
+                entity.getCpf(),
+                entity.getEmail(),
+                entity.isActive(),
+                entity.isDeleted(),
+                entity.getBirth(),
+                entity.getEnrollmentDate());
+    }
+}
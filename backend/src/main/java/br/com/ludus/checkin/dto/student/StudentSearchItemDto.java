@@ -0,0 +1,9 @@
+package br.com.ludus.checkin.dto.student;
+
+public record StudentSearchItemDto(
+        Long id,
+        String name,
+        String cpf,
+        String contact,
+        float score) {
+}
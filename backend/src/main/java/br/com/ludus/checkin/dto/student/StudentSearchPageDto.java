@@ -0,0 +1,8 @@
+package br.com.ludus.checkin.dto.student;
+
+import java.util.List;
+
+public record StudentSearchPageDto(
+        List<StudentSearchItemDto> content,
+        String nextCursor) {
+}
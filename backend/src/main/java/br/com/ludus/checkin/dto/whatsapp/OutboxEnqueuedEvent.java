@@ -0,0 +1,5 @@
+package br.com.ludus.checkin.dto.whatsapp;
+
+public record OutboxEnqueuedEvent(
+        int messages) {
+}
@@ -0,0 +1,7 @@
+package br.com.ludus.checkin.dto.whatsapp;
+
+public record WhatsAppMessageDto(
+        Long attendanceRequestId,
+        String phone,
+        String body) {
+}
@@ -0,0 +1,8 @@
+package br.com.ludus.checkin.enums;
+
+public enum DeliveryStatusEnum {
+    QUEUED,
+    SENT,
+    FAILED,
+    NO_CONTACT
+}
@@ -0,0 +1,9 @@
+package br.com.ludus.checkin.enums;
+
+public enum OutboxStatusEnum {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED,
+    CANCELED
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import br.com.ludus.checkin.enums.AttendanceRequestStatusEnum;
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,8 +13,12 @@ import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -27,20 +32,26 @@ import lombok.NoArgsConstructor;
         @UniqueConstraint(columnNames = { "class_id", "student_id", "date" }),
         @UniqueConstraint(columnNames = { "token_hash" })
 })
+@NamedEntityGraph(name = AttendanceRequest.WITH_CLASS_AND_STUDENT, attributeNodes = {
+        @NamedAttributeNode("student"),
+        @NamedAttributeNode(value = "dancingClass", subgraph = "dancingClass")
+}, subgraphs = @NamedSubgraph(name = "dancingClass", attributeNodes = @NamedAttributeNode("beat")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AttendanceRequest {
 
+    public static final String WITH_CLASS_AND_STUDENT = "AttendanceRequest.withClassAndStudent";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "class_id", foreignKey = @ForeignKey(name = "fk_attendance_request_class"), nullable = false)
     private DancingClass dancingClass;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", foreignKey = @ForeignKey(name = "fk_attendance_request_student"), nullable = false)
     private Student student;
 
@@ -57,6 +68,13 @@ public class AttendanceRequest {
     @Column(name = "responded_at")
     private LocalDateTime respondedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_status", length = 20, nullable = false)
+    private DeliveryStatusEnum deliveryStatus = DeliveryStatusEnum.QUEUED;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
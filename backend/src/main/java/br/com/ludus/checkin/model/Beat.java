@@ -1,7 +1,13 @@
 package br.com.ludus.checkin.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLRestriction;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import br.com.ludus.checkin.configuration.cache.SecondLevelCacheConfig;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +16,9 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "beat", schema = "checkin")
 @SQLRestriction("is_deleted = false")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.BEAT)
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +26,8 @@ public class Beat {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beat_id_seq")
+    @SequenceGenerator(name = "beat_id_seq", schema = "checkin", sequenceName = "beat_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name")
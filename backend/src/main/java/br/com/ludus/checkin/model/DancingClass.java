@@ -6,6 +6,7 @@ import java.util.List;
 import org.hibernate.annotations.SQLRestriction;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import br.com.ludus.checkin.enums.*;
@@ -16,6 +17,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "dancing_class", schema = "checkin")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @SQLRestriction("is_deleted = false")
 @Data
 @NoArgsConstructor
@@ -24,7 +26,8 @@ public class DancingClass {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dancing_class_id_seq")
+    @SequenceGenerator(name = "dancing_class_id_seq", schema = "checkin", sequenceName = "dancing_class_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -61,12 +64,12 @@ public class DancingClass {
     @OneToMany(mappedBy = "dancingClass")
     private List<Lesson> lessons;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "beat", foreignKey = @ForeignKey(name = "fk_beat_dancing_class"))
     private Beat beat;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "dancingClass", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "dancingClass", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DancingClassEnrollment> enrollments;
 
 }
@@ -27,7 +27,7 @@ public class DancingClassEnrollment {
     private DancingClass dancingClass;
 
     @NotFound(action = NotFoundAction.IGNORE)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("studentId")
     @JoinColumn(name = "id_student", foreignKey = @ForeignKey(name = "fk_dancing_class_student_student"))
     private Student student;
@@ -0,0 +1,57 @@
+package br.com.ludus.checkin.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SQLRestriction;
+
+import br.com.ludus.checkin.configuration.cache.SecondLevelCacheConfig;
+import br.com.ludus.checkin.enums.LevelDancingEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only view of the {@code dancing_class} columns fixed at creation (progressing a class creates a
+ * new one), for callers that only need to name the class. Served from the second-level cache. The
+ * soft-delete {@code UPDATE} on {@link DancingClass} only evicts that entity's region, so
+ * {@code DancingClassService.delete} evicts the header explicitly.
+ */
+@Entity
+@Immutable
+@Table(name = "dancing_class", schema = "checkin")
+@SQLRestriction("is_deleted = false")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = SecondLevelCacheConfig.DANCING_CLASS_HEADER)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DancingClassHeader {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "level")
+    private LevelDancingEnum level;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_week")
+    private DayOfWeek dayWeek;
+
+    @Column(name = "start_schedule")
+    private LocalTime startSchedule;
+
+    @Column(name = "end_schedule")
+    private LocalTime endSchedule;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "beat")
+    private Beat beat;
+
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 import org.hibernate.annotations.SQLRestriction;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import br.com.ludus.checkin.enums.EventStatusEnum;
@@ -16,6 +17,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "event", schema = "checkin")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @SQLRestriction("is_deleted = false")
 @Data
 @NoArgsConstructor
@@ -24,7 +26,8 @@ public class Event {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_id_seq")
+    @SequenceGenerator(name = "event_id_seq", schema = "checkin", sequenceName = "event_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -42,6 +45,10 @@ public class Event {
     @Column(name = "max_participants", nullable = false)
     private Integer maxParticipants = 0;
 
+    /** Maintained by {@code EventRepository.reserveSeat}/{@code releaseSeat} only; entity saves never write it. */
+    @Column(name = "participant_count", nullable = false, insertable = false, updatable = false)
+    private int participantCount;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private EventStatusEnum status = EventStatusEnum.IN_PROGRESS;
@@ -53,6 +60,6 @@ public class Event {
     private boolean archived;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "event", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "event", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<EventParticipant> participants;
 }
@@ -20,7 +20,8 @@ import lombok.NoArgsConstructor;
 public class EventParticipant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_participant_id_seq")
+    @SequenceGenerator(name = "event_participant_id_seq", schema = "checkin", sequenceName = "event_participant_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -30,7 +31,7 @@ public class EventParticipant {
     private Event event;
 
     @NotFound(action = NotFoundAction.IGNORE)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_student", foreignKey = @ForeignKey(name = "fk_event_participant_student"))
     private Student student;
 
@@ -0,0 +1,25 @@
+package br.com.ludus.checkin.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A day the studio is closed; the lesson calendar skips it. */
+@Entity
+@Table(name = "holiday", schema = "checkin")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holiday {
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+}
@@ -21,7 +21,8 @@ public class Lesson {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_id_seq")
+    @SequenceGenerator(name = "lesson_id_seq", schema = "checkin", sequenceName = "lesson_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "day")
@@ -36,7 +37,7 @@ public class Lesson {
     @Column(name = "is_deleted")
     private boolean deleted;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dancing_class", foreignKey = @ForeignKey(name = "fk_dancing_class_lesson"))
     @JsonBackReference
     private DancingClass dancingClass;
@@ -17,7 +17,8 @@ public class Participation {
     
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "participation_id_seq")
+    @SequenceGenerator(name = "participation_id_seq", schema = "checkin", sequenceName = "participation_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "confirmed")
@@ -26,11 +27,11 @@ public class Participation {
     @Column(name = "is_deleted")
     private boolean deleted;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lesson", foreignKey = @ForeignKey(name = "fk_lesson_participation"))
     private Lesson lesson;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student", foreignKey = @ForeignKey(name = "fk_student_participation"))
     private Student student;
 
@@ -19,7 +19,8 @@ public class StudentAttendance {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_attendance_id_seq")
+    @SequenceGenerator(name = "student_attendance_id_seq", schema = "checkin", sequenceName = "student_attendance_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
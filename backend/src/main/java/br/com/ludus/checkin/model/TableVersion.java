@@ -0,0 +1,27 @@
+package br.com.ludus.checkin.model;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** One change counter of a table; rows are written only by the {@code f_bump_table_version} trigger. */
+@Entity
+@Immutable
+@Table(name = "table_version", schema = "checkin")
+@Getter
+@NoArgsConstructor
+public class TableVersion {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "table_name")
+    private String tableName;
+
+    @Column(name = "version")
+    private long version;
+
+}
@@ -0,0 +1,81 @@
+package br.com.ludus.checkin.model;
+
+import java.time.LocalDateTime;
+
+import br.com.ludus.checkin.enums.OutboxStatusEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outgoing WhatsApp message waiting to be delivered. Rows are claimed by the drainer with
+ * {@code FOR UPDATE SKIP LOCKED}; while a row is {@code SENDING}, {@code nextAttemptAt} holds the
+ * lease expiry so an instance that dies mid-send releases its rows to the others.
+ */
+@Entity
+@Table(name = "whatsapp_outbox", schema = "checkin")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatsAppOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attendance_request_id")
+    private Long attendanceRequestId;
+
+    @Column(name = "phone", length = 30, nullable = false)
+    private String phone;
+
+    @Column(name = "body", nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private OutboxStatusEnum status = OutboxStatusEnum.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = now;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.ludus.checkin.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestUpsertDto;
+
+/** Set-based writes for {@code attendance_request} that bypass per-entity inserts. */
+public interface AttendanceRequestBulkRepository {
+
+    /**
+     * Creates or resets the pending request of every given student for the class and date in one
+     * JDBC batch, keyed by the {@code (class_id, student_id, date)} unique constraint.
+     */
+    void upsertPending(Long classId, LocalDate date, LocalDateTime expiresAt, List<AttendanceRequestUpsertDto> rows);
+
+    /** Request ids of the class and date, keyed by student id. */
+    Map<Long, Long> findIdsByStudent(Long classId, LocalDate date);
+}
@@ -0,0 +1,75 @@
+package br.com.ludus.checkin.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestUpsertDto;
+import br.com.ludus.checkin.enums.AttendanceRequestStatusEnum;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class AttendanceRequestBulkRepositoryImpl implements AttendanceRequestBulkRepository {
+
+    private static final String UPSERT_PENDING = """
+            INSERT INTO checkin.attendance_request
+                (class_id, student_id, token_hash, date, status, responded_at,
+                 delivery_status, delivered_at, expires_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, NULL, ?, NULL, ?, ?, ?)
+            ON CONFLICT (class_id, student_id, date) DO UPDATE SET
+                token_hash = EXCLUDED.token_hash,
+                status = EXCLUDED.status,
+                responded_at = NULL,
+                delivery_status = EXCLUDED.delivery_status,
+                delivered_at = NULL,
+                expires_at = EXCLUDED.expires_at,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String FIND_IDS_BY_STUDENT = """
+            SELECT student_id, id FROM checkin.attendance_request
+            WHERE class_id = ? AND date = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertPending(Long classId, LocalDate date, LocalDateTime expiresAt, List<AttendanceRequestUpsertDto> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Date sqlDate = Date.valueOf(date);
+        Timestamp expires = Timestamp.valueOf(expiresAt);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String pending = AttendanceRequestStatusEnum.PENDING.name();
+
+        jdbcTemplate.batchUpdate(UPSERT_PENDING, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, classId);
+            ps.setLong(2, row.studentId());
+            ps.setString(3, row.tokenHash());
+            ps.setDate(4, sqlDate);
+            ps.setString(5, pending);
+            ps.setString(6, row.deliveryStatus().name());
+            ps.setTimestamp(7, expires);
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    @Override
+    public Map<Long, Long> findIdsByStudent(Long classId, LocalDate date) {
+        Map<Long, Long> ids = new HashMap<>();
+        jdbcTemplate.query(FIND_IDS_BY_STUDENT,
+                rs -> {
+                    ids.put(rs.getLong("student_id"), rs.getLong("id"));
+                },
+                classId, Date.valueOf(date));
+        return ids;
+    }
+}
@@ -1,17 +1,33 @@
 package br.com.ludus.checkin.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
 import br.com.ludus.checkin.model.AttendanceRequest;
 
 @Repository
-public interface AttendanceRequestRepository extends JpaRepository<AttendanceRequest, Long> {
+public interface AttendanceRequestRepository extends JpaRepository<AttendanceRequest, Long>, AttendanceRequestBulkRepository {
 
+    @EntityGraph(AttendanceRequest.WITH_CLASS_AND_STUDENT)
     Optional<AttendanceRequest> findByTokenHash(String tokenHash);
 
     Optional<AttendanceRequest> findByDancingClassIdAndStudentIdAndDate(Long classId, Long studentId, LocalDate date);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AttendanceRequest r SET r.deliveryStatus = :status, r.deliveredAt = :deliveredAt, r.updatedAt = LOCAL_DATETIME WHERE r.id = :id")
+    int updateDeliveryStatus(
+            @Param("id") Long id,
+            @Param("status") DeliveryStatusEnum status,
+            @Param("deliveredAt") LocalDateTime deliveredAt);
 }
@@ -0,0 +1,19 @@
+package br.com.ludus.checkin.repository;
+
+import java.util.Map;
+
+/** Set-based writes for {@code dancing_class_student}. */
+public interface DancingClassEnrollmentBulkRepository {
+
+    /**
+     * Enrolls every student of {@code fromClassId} in {@code toClassId} with the same role, in a single
+     * {@code INSERT ... SELECT}. Soft-deleted students are left out. Returns how many were enrolled.
+     */
+    int copyEnrollments(Long fromClassId, Long toClassId);
+
+    /**
+     * Enrolls each student in the class with the given role, or changes the role of an existing enrollment,
+     * in one JDBC batch keyed by the {@code (id_dancing_class, id_student)} primary key.
+     */
+    void upsertRoles(Long classId, Map<Long, String> roleByStudent);
+}
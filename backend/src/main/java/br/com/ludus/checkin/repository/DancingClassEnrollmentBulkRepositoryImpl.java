@@ -0,0 +1,47 @@
+package br.com.ludus.checkin.repository;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class DancingClassEnrollmentBulkRepositoryImpl implements DancingClassEnrollmentBulkRepository {
+
+    private static final String COPY_ENROLLMENTS = """
+            INSERT INTO checkin.dancing_class_student (id_dancing_class, id_student, role)
+            SELECT ?, e.id_student, COALESCE(e.role, 'CONDUCTED')
+            FROM checkin.dancing_class_student e
+            JOIN checkin.student s ON s.id = e.id_student AND s.is_deleted = false
+            WHERE e.id_dancing_class = ?
+            ON CONFLICT (id_dancing_class, id_student) DO NOTHING
+            """;
+
+    private static final String UPSERT_ROLE = """
+            INSERT INTO checkin.dancing_class_student (id_dancing_class, id_student, role)
+            VALUES (?, ?, ?)
+            ON CONFLICT (id_dancing_class, id_student) DO UPDATE SET role = EXCLUDED.role
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int copyEnrollments(Long fromClassId, Long toClassId) {
+        return jdbcTemplate.update(COPY_ENROLLMENTS, toClassId, fromClassId);
+    }
+
+    @Override
+    public void upsertRoles(Long classId, Map<Long, String> roleByStudent) {
+        if (roleByStudent.isEmpty()) {
+            return;
+        }
+        var entries = new ArrayList<>(roleByStudent.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_ROLE, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, classId);
+            ps.setLong(2, entry.getKey());
+            ps.setString(3, entry.getValue());
+        });
+    }
+}
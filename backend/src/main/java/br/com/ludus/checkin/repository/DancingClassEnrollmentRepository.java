@@ -1,5 +1,6 @@
 package br.com.ludus.checkin.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,13 +8,41 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import br.com.ludus.checkin.dto.dancing.EnrollmentDto;
 import br.com.ludus.checkin.model.DancingClassEnrollment;
 import br.com.ludus.checkin.model.EnrollmentId;
 
-public interface DancingClassEnrollmentRepository extends JpaRepository<DancingClassEnrollment, EnrollmentId> {
+public interface DancingClassEnrollmentRepository
+        extends JpaRepository<DancingClassEnrollment, EnrollmentId>, DancingClassEnrollmentBulkRepository {
+
+    interface EnrollmentRole {
+        Long getStudentId();
+
+        String getRole();
+    }
 
     Optional<DancingClassEnrollment> findByDancingClassIdAndStudentId(Long dancingClassId, Long studentId);
 
     @Query("SELECT e FROM DancingClassEnrollment e JOIN FETCH e.student WHERE e.id.dancingClassId = :classId ORDER BY e.student.name")
     List<DancingClassEnrollment> findByDancingClassIdOrderByStudentName(@Param("classId") Long classId);
+
+    /** Rosters of several classes in one query; enrollments of soft-deleted students come back without a student. */
+    @Query("""
+            SELECT new br.com.ludus.checkin.dto.dancing.EnrollmentDto(
+                e.id.dancingClassId, e.id.studentId, e.role,
+                s.id, s.name, s.contact, s.cpf, s.email, s.active, s.deleted, s.birth, s.enrollmentDate)
+            FROM DancingClassEnrollment e
+            LEFT JOIN e.student s
+            WHERE e.id.dancingClassId IN :classIds
+            ORDER BY s.name
+            """)
+    List<EnrollmentDto> findRosters(@Param("classIds") Collection<Long> classIds);
+
+    /** Current roles of the given students in the class, without loading enrollments or students. */
+    @Query("""
+            SELECT e.id.studentId AS studentId, e.role AS role
+            FROM DancingClassEnrollment e
+            WHERE e.id.dancingClassId = :classId AND e.id.studentId IN :studentIds
+            """)
+    List<EnrollmentRole> findRoles(@Param("classId") Long classId, @Param("studentIds") Collection<Long> studentIds);
 }
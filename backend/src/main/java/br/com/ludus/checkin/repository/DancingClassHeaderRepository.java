@@ -0,0 +1,16 @@
+package br.com.ludus.checkin.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.repository.Repository;
+
+import br.com.ludus.checkin.model.DancingClassHeader;
+
+/** Read-only: headers are written through {@link DancingClassRepository}. */
+@org.springframework.stereotype.Repository
+public interface DancingClassHeaderRepository extends Repository<DancingClassHeader, Long> {
+
+    /** Resolved by the entity manager, so a warm second-level cache answers without a query. */
+    Optional<DancingClassHeader> findById(Long id);
+
+}
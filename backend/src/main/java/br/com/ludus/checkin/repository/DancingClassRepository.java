@@ -1,18 +1,24 @@
 package br.com.ludus.checkin.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.ludus.checkin.dto.dancing.DancingClassDto;
+import br.com.ludus.checkin.dto.dancing.HowManyLessonsDto;
 import br.com.ludus.checkin.enums.StatusDancingEnum;
 import br.com.ludus.checkin.model.DancingClass;
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface DancingClassRepository extends JpaRepository<DancingClass, Long> {
@@ -22,38 +28,81 @@ public interface DancingClassRepository extends JpaRepository<DancingClass, Long
   @Query("UPDATE DancingClass dc SET dc.deleted = true WHERE dc.id = :id")
   void deleteById(@Param("id") Long id);
 
+  /**
+   * Classes about to be progressed, without their rosters, locked in id order so concurrent progressions
+   * of the same class serialize and overlapping batches cannot deadlock.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT dc FROM DancingClass dc WHERE dc.id IN :ids ORDER BY dc.id")
+  List<DancingClass> lockAllById(@Param("ids") Collection<Long> ids);
+
   @Query("""
-          SELECT dancingClass
+          SELECT new br.com.ludus.checkin.dto.dancing.DancingClassDto(
+              dancingClass.id, dancingClass.level, dancingClass.status, dancingClass.dayWeek,
+              dancingClass.startSchedule, dancingClass.endSchedule, dancingClass.startDate, dancingClass.endDate,
+              dancingClass.deleted, dancingClass.archived, beat.id, beat.name, beat.deleted)
           FROM DancingClass dancingClass
           LEFT JOIN dancingClass.beat beat
-          WHERE (:level IS NULL OR LOWER(dancingClass.level) LIKE LOWER(CONCAT('%', :level, '%')))
-            AND (:status IS NULL OR LOWER(dancingClass.status) LIKE LOWER(CONCAT('%', :status, '%')))
-            AND (:dayWeek IS NULL OR LOWER(dancingClass.dayWeek) LIKE LOWER(CONCAT('%', :dayWeek, '%')))
-            AND (:beatName IS NULL OR LOWER(beat.name) LIKE LOWER(CONCAT('%', :beatName, '%')))
+          WHERE (:level IS NULL OR LOWER(CAST(dancingClass.level AS String)) LIKE LOWER(CONCAT('%', CAST(:level AS String), '%')))
+            AND (:status IS NULL OR LOWER(CAST(dancingClass.status AS String)) LIKE LOWER(CONCAT('%', CAST(:status AS String), '%')))
+            AND (:dayWeek IS NULL OR LOWER(CAST(dancingClass.dayWeek AS String)) LIKE LOWER(CONCAT('%', CAST(:dayWeek AS String), '%')))
+            AND (:beatName IS NULL OR LOWER(beat.name) LIKE LOWER(CONCAT('%', CAST(:beatName AS String), '%')))
       """)
-  Page<DancingClass> findAllByFilters(
+  Page<DancingClassDto> findAllByFilters(
       Pageable pageable,
       @Param("level") String level,
       @Param("status") String status,
       @Param("dayWeek") String dayWeek,
       @Param("beatName") String beatName);
 
+  /** One row per class with lessons still ahead, counted in the database rather than by loading them. */
   @Query("""
-      SELECT dancingClass FROM DancingClass dancingClass
-      LEFT JOIN dancingClass.lessons lesson
+      SELECT new br.com.ludus.checkin.dto.dancing.HowManyLessonsDto(
+          dancingClass.id, CAST(dancingClass.level AS String), beat.name, dancingClass.endDate, COUNT(lesson))
+      FROM DancingClass dancingClass
+      JOIN dancingClass.lessons lesson
+      LEFT JOIN dancingClass.beat beat
       WHERE dancingClass.status = :status
       AND lesson.day >= :today
+      GROUP BY dancingClass.id, dancingClass.level, beat.name, dancingClass.endDate
+      ORDER BY dancingClass.endDate, dancingClass.id
       """)
-  List<DancingClass> findHowManyLessonsAreLeft(
+  List<HowManyLessonsDto> findHowManyLessonsAreLeft(
       @Param("status") StatusDancingEnum status,
       @Param("today") LocalDate today);
 
   @Query(value = "SELECT COUNT(*) FROM checkin.dancing_class_student", nativeQuery = true)
   long countActiveEnrollments();
 
+  interface StatusCount {
+    StatusDancingEnum getStatus();
+
+    long getTotal();
+  }
+
+  @Query("SELECT dc.status AS status, COUNT(dc) AS total FROM DancingClass dc GROUP BY dc.status")
+  List<StatusCount> countByStatus();
+
   /** Listagem simples (sem filtros): evita sort por associação que pode causar 500. */
-  @Query("SELECT dc FROM DancingClass dc ORDER BY dc.id ASC")
-  Page<DancingClass> findAllForList(Pageable pageable);
+  @Query("""
+      SELECT new br.com.ludus.checkin.dto.dancing.DancingClassDto(
+          dc.id, dc.level, dc.status, dc.dayWeek, dc.startSchedule, dc.endSchedule, dc.startDate, dc.endDate,
+          dc.deleted, dc.archived, beat.id, beat.name, beat.deleted)
+      FROM DancingClass dc
+      LEFT JOIN dc.beat beat
+      ORDER BY dc.id ASC
+      """)
+  Page<DancingClassDto> findAllForList(Pageable pageable);
+
+  @Query("""
+      SELECT new br.com.ludus.checkin.dto.dancing.DancingClassDto(
+          dc.id, dc.level, dc.status, dc.dayWeek, dc.startSchedule, dc.endSchedule, dc.startDate, dc.endDate,
+          dc.deleted, dc.archived, beat.id, beat.name, beat.deleted)
+      FROM DancingClass dc
+      LEFT JOIN dc.beat beat
+      WHERE dc.id = :id
+      """)
+  Optional<DancingClassDto> findDtoById(@Param("id") Long id);
 
   @Query("""
       SELECT dc FROM DancingClass dc
@@ -1,14 +1,32 @@
 package br.com.ludus.checkin.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.ludus.checkin.dto.event.EventParticipantDto;
 import br.com.ludus.checkin.model.EventParticipant;
 
 @Repository
 public interface EventParticipantRepository extends JpaRepository<EventParticipant, Long> {
 
     Optional<EventParticipant> findByEvent_IdAndStudent_Id(Long eventId, Long studentId);
+
+    boolean existsByEvent_IdAndStudent_Id(Long eventId, Long studentId);
+
+    @Query("""
+            SELECT new br.com.ludus.checkin.dto.event.EventParticipantDto(
+                p.event.id, p.id, p.externalParticipantName, p.amountPaid,
+                s.id, s.name, s.contact, s.cpf, s.email, s.active, s.deleted, s.birth, s.enrollmentDate)
+            FROM EventParticipant p
+            LEFT JOIN p.student s
+            WHERE p.event.id IN :eventIds
+            ORDER BY p.id
+            """)
+    List<EventParticipantDto> findDtosByEventIds(@Param("eventIds") Collection<Long> eventIds);
 }
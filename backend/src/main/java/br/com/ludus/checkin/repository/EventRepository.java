@@ -1,18 +1,121 @@
 package br.com.ludus.checkin.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.ludus.checkin.dto.event.EventDto;
+import br.com.ludus.checkin.enums.EventStatusEnum;
 import br.com.ludus.checkin.model.Event;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    interface SummaryRow {
+        Long getId();
+
+        String getName();
+
+        LocalDate getEventDate();
+
+        LocalTime getEventTime();
+
+        String getStatus();
+
+        boolean getArchived();
+
+        boolean getHasMaxParticipants();
+
+        int getMaxParticipants();
+
+        long getParticipantCount();
+
+        BigDecimal getTotalPaid();
+    }
+
     @Override
     @Modifying
     @Query("UPDATE Event e SET e.deleted = true WHERE e.id = :id")
     void deleteById(@Param("id") Long id);
+
+    @Query("""
+            SELECT new br.com.ludus.checkin.dto.event.EventDto(
+                e.id, e.name, e.eventDate, e.eventTime, e.hasMaxParticipants, e.maxParticipants, e.participantCount, e.status, e.deleted, e.archived)
+            FROM Event e
+            ORDER BY e.id
+            """)
+    List<EventDto> findAllDtos();
+
+    /**
+     * Takes a seat if the event is open and not full. The row lock taken by the UPDATE serializes
+     * concurrent sign-ups for the same event until commit, so capacity can never be exceeded.
+     * Returns 0 when the event is missing, finished or full.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Event e SET e.participantCount = e.participantCount + 1
+            WHERE e.id = :id AND e.deleted = false AND e.status <> :finished
+              AND (e.hasMaxParticipants = false OR e.participantCount < e.maxParticipants)
+            """)
+    int reserveSeat(@Param("id") Long id, @Param("finished") EventStatusEnum finished);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.participantCount = e.participantCount - 1 WHERE e.id = :id AND e.participantCount > 0")
+    int releaseSeat(@Param("id") Long id);
+
+    @Query("""
+            SELECT new br.com.ludus.checkin.dto.event.EventDto(
+                e.id, e.name, e.eventDate, e.eventTime, e.hasMaxParticipants, e.maxParticipants, e.participantCount, e.status, e.deleted, e.archived)
+            FROM Event e
+            WHERE e.id = :id
+            """)
+    Optional<EventDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * A page of events, newest first, with participant count and amount paid aggregated per event. The
+     * page is cut first along {@code ix_event_date_id} from the {@code (afterDate, afterId)} keyset, so
+     * only its own participants are read. Empty status and {@code anyArchived} disable those filters.
+     */
+    @Query(value = """
+            WITH page AS (
+                SELECT e.id, e.name, e.event_date, e.event_time, e.status, e.is_archived,
+                       e.has_max_participants, e.max_participants
+                FROM checkin.event e
+                WHERE e.is_deleted = false
+                  AND (e.event_date, e.id) < (:afterDate, :afterId)
+                  AND e.event_date BETWEEN :fromDate AND :toDate
+                  AND (:status = '' OR e.status = :status)
+                  AND (:anyArchived OR e.is_archived = :archived)
+                ORDER BY e.event_date DESC, e.id DESC
+                LIMIT :limit
+            )
+            SELECT page.id AS id, page.name AS name, page.event_date AS eventDate, page.event_time AS eventTime,
+                   page.status AS status, page.is_archived AS archived,
+                   page.has_max_participants AS hasMaxParticipants, page.max_participants AS maxParticipants,
+                   totals.participant_count AS participantCount, totals.total_paid AS totalPaid
+            FROM page
+            CROSS JOIN LATERAL (
+                SELECT count(*) AS participant_count, COALESCE(sum(p.amount_paid), 0) AS total_paid
+                FROM checkin.event_participant p
+                WHERE p.id_event = page.id
+            ) totals
+            ORDER BY page.event_date DESC, page.id DESC
+            """, nativeQuery = true)
+    List<SummaryRow> findSummaries(
+            @Param("status") String status,
+            @Param("anyArchived") boolean anyArchived,
+            @Param("archived") boolean archived,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
 }
@@ -0,0 +1,18 @@
+package br.com.ludus.checkin.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.ludus.checkin.model.Holiday;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, LocalDate> {
+
+    @Query("SELECT h.day FROM Holiday h WHERE h.day BETWEEN :from AND :to")
+    List<LocalDate> findDaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,21 @@
+package br.com.ludus.checkin.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+
+/** Set-based writes for {@code lesson}, keyed by the {@code (dancing_class, day)} unique index. */
+public interface LessonBulkRepository {
+
+    /**
+     * Inserts a lesson for every given day in one JDBC batch, skipping days the class already has.
+     * Returns how many lessons were created.
+     */
+    int insertMissing(Long dancingClassId, Collection<LocalDate> days, LocalTime startSchedule, LocalTime endSchedule);
+
+    /**
+     * Creates the class's lesson for the day, copying its schedule, unless one already exists. A single
+     * statement, so concurrent callers cannot both insert.
+     */
+    boolean insertIfAbsent(Long dancingClassId, LocalDate day);
+}
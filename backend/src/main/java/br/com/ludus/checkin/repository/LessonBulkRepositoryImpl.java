@@ -0,0 +1,56 @@
+package br.com.ludus.checkin.repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class LessonBulkRepositoryImpl implements LessonBulkRepository {
+
+    private static final String INSERT_MISSING = """
+            INSERT INTO checkin.lesson (day, start_schedule, end_schedule, dancing_class)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (dancing_class, day) WHERE is_deleted = false DO NOTHING
+            """;
+
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO checkin.lesson (day, start_schedule, end_schedule, dancing_class)
+            SELECT ?, dc.start_schedule, dc.end_schedule, dc.id
+            FROM checkin.dancing_class dc
+            WHERE dc.id = ? AND dc.is_deleted = false
+            ON CONFLICT (dancing_class, day) WHERE is_deleted = false DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertMissing(Long dancingClassId, Collection<LocalDate> days, LocalTime startSchedule, LocalTime endSchedule) {
+        if (days.isEmpty()) {
+            return 0;
+        }
+        Time start = Time.valueOf(startSchedule);
+        Time end = Time.valueOf(endSchedule);
+
+        var rows = new ArrayList<>(days);
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_MISSING, rows, rows.size(), (ps, day) -> {
+            ps.setDate(1, Date.valueOf(day));
+            ps.setTime(2, start);
+            ps.setTime(3, end);
+            ps.setLong(4, dancingClassId);
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+
+    @Override
+    public boolean insertIfAbsent(Long dancingClassId, LocalDate day) {
+        return jdbcTemplate.update(INSERT_IF_ABSENT, Date.valueOf(day), dancingClassId) > 0;
+    }
+}
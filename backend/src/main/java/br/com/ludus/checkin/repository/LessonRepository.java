@@ -1,7 +1,6 @@
 package br.com.ludus.checkin.repository;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -12,19 +11,21 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.ludus.checkin.dto.lesson.LessonDto;
 import br.com.ludus.checkin.model.Lesson;
 
 @Repository
-public interface LessonRepository extends JpaRepository<Lesson, Long> {
+public interface LessonRepository extends JpaRepository<Lesson, Long>, LessonBulkRepository {
 
     @Override
     @Modifying
     @Query("UPDATE Lesson l SET l.deleted = true WHERE l.id = :id")
     void deleteById(@Param("id") Long id);
 
-    Page<Lesson> findAllByDancingClassId(Pageable pageable, Long dancingClassId);
-
-    List<Lesson> findAllByDancingClassIdAndDayGreaterThanEqual(Long dancingClassId, LocalDate today);
+    Page<LessonDto> findAllByDancingClassId(Pageable pageable, Long dancingClassId);
 
     Optional<Lesson> findByDancingClassIdAndDay(Long dancingClassId, LocalDate day);
+
+    long countByDancingClassIdAndDayGreaterThanEqual(Long dancingClassId, LocalDate today);
+
 }
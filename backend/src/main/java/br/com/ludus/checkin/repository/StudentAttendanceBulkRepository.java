@@ -0,0 +1,29 @@
+package br.com.ludus.checkin.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceHistoryRowDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusChangeDto;
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+
+/** Set-based writes and streaming reads for {@code student_attendance}. */
+public interface StudentAttendanceBulkRepository {
+
+    /**
+     * Records the status of every given student for the class and date in one statement, keyed by the
+     * {@code (student_id, class_id, attendance_date)} unique constraint. Only students on the class roster
+     * are written, and each one comes back with the status it replaced.
+     */
+    List<AttendanceStatusChangeDto> upsertStatuses(Long classId, LocalDate attendanceDate, Map<Long, AttendanceStatusEnum> statusByStudent);
+
+    /**
+     * Hands every attendance between {@code from} and {@code to} (optionally of one class) to {@code sink},
+     * ordered by date, class and student. Rows come from a forward-only cursor fetched {@code fetchSize}
+     * at a time, so the caller must hold a transaction: with autocommit on, the driver would buffer the
+     * whole result instead.
+     */
+    void streamHistory(LocalDate from, LocalDate to, Long classId, int fetchSize, Consumer<AttendanceHistoryRowDto> sink);
+}
@@ -0,0 +1,141 @@
+package br.com.ludus.checkin.repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceHistoryRowDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusChangeDto;
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class StudentAttendanceBulkRepositoryImpl implements StudentAttendanceBulkRepository {
+
+    // The roster join drops students not enrolled in the class instead of failing on the foreign keys.
+    // Every part of the statement reads the snapshot taken before it runs, so "previous" holds the
+    // statuses the upsert replaces.
+    private static final String UPSERT_STATUS = """
+            WITH input AS (
+                SELECT i.student_id, i.status
+                FROM unnest(?::bigint[], ?::varchar[]) AS i(student_id, status)
+                JOIN checkin.dancing_class_student e ON e.id_dancing_class = ? AND e.id_student = i.student_id
+            ), previous AS (
+                SELECT sa.student_id, sa.status
+                FROM checkin.student_attendance sa
+                JOIN input ON input.student_id = sa.student_id
+                WHERE sa.class_id = ? AND sa.attendance_date = ?
+            ), upserted AS (
+                INSERT INTO checkin.student_attendance
+                    (student_id, class_id, attendance_date, status, created_at, updated_at)
+                SELECT student_id, ?, ?, status, ?, ?
+                FROM input
+                ON CONFLICT (student_id, class_id, attendance_date) DO UPDATE SET
+                    status = EXCLUDED.status,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING student_id, status
+            )
+            SELECT u.student_id, p.status AS previous_status, u.status
+            FROM upserted u
+            LEFT JOIN previous p ON p.student_id = u.student_id
+            """;
+
+    // Ordered by the leading column of ix_student_attendance_date_status, so the planner only has to
+    // sort within each date (incremental sort) and the first rows arrive before the range is read.
+    private static final String HISTORY = """
+            SELECT sa.attendance_date, dc.id AS class_id, b.name AS beat, dc.level, dc.day_week,
+                   COALESCE(l.start_schedule, dc.start_schedule) AS start_schedule,
+                   COALESCE(l.end_schedule, dc.end_schedule) AS end_schedule,
+                   s.id AS student_id, s.name AS student_name, s.cpf, sa.status
+            FROM checkin.student_attendance sa
+            JOIN checkin.student s ON s.id = sa.student_id
+            JOIN checkin.dancing_class dc ON dc.id = sa.class_id
+            JOIN checkin.beat b ON b.id = dc.beat
+            LEFT JOIN checkin.lesson l
+                   ON l.dancing_class = sa.class_id AND l.day = sa.attendance_date AND l.is_deleted = false
+            WHERE sa.attendance_date BETWEEN ? AND ?
+            """;
+
+    private static final String HISTORY_ORDER = """
+            ORDER BY sa.attendance_date, dc.id, s.name, s.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<AttendanceStatusChangeDto> upsertStatuses(
+            Long classId, LocalDate attendanceDate, Map<Long, AttendanceStatusEnum> statusByStudent) {
+        if (statusByStudent.isEmpty()) {
+            return List.of();
+        }
+        Date date = Date.valueOf(attendanceDate);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long[] studentIds = statusByStudent.keySet().toArray(Long[]::new);
+        String[] statuses = statusByStudent.values().stream().map(Enum::name).toArray(String[]::new);
+
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(UPSERT_STATUS);
+            ps.setArray(1, con.createArrayOf("bigint", studentIds));
+            ps.setArray(2, con.createArrayOf("varchar", statuses));
+            ps.setLong(3, classId);
+            ps.setLong(4, classId);
+            ps.setDate(5, date);
+            ps.setLong(6, classId);
+            ps.setDate(7, date);
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+            return ps;
+        }, (rs, rowNum) -> new AttendanceStatusChangeDto(
+                rs.getLong("student_id"),
+                toStatus(rs.getString("previous_status")),
+                toStatus(rs.getString("status"))));
+    }
+
+    @Override
+    public void streamHistory(LocalDate from, LocalDate to, Long classId, int fetchSize,
+            Consumer<AttendanceHistoryRowDto> sink) {
+        String sql = classId == null
+                ? HISTORY + HISTORY_ORDER
+                : HISTORY + "  AND sa.class_id = ?\n" + HISTORY_ORDER;
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            if (classId != null) {
+                ps.setLong(3, classId);
+            }
+            return ps;
+        }, rs -> {
+            sink.accept(new AttendanceHistoryRowDto(
+                    rs.getDate("attendance_date").toLocalDate(),
+                    rs.getLong("class_id"),
+                    rs.getString("beat"),
+                    rs.getString("level"),
+                    rs.getString("day_week"),
+                    toLocalTime(rs.getTime("start_schedule")),
+                    toLocalTime(rs.getTime("end_schedule")),
+                    rs.getLong("student_id"),
+                    rs.getString("student_name"),
+                    rs.getString("cpf"),
+                    rs.getString("status")));
+        });
+    }
+
+    private static AttendanceStatusEnum toStatus(String status) {
+        return status != null ? AttendanceStatusEnum.valueOf(status) : null;
+    }
+
+    private static LocalTime toLocalTime(Time time) {
+        return time != null ? time.toLocalTime() : null;
+    }
+}
@@ -9,19 +9,42 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.ludus.checkin.dto.attendance.StudentAttendanceItemDto;
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
 import br.com.ludus.checkin.model.StudentAttendance;
 
 @Repository
-public interface StudentAttendanceRepository extends JpaRepository<StudentAttendance, Long> {
+public interface StudentAttendanceRepository extends JpaRepository<StudentAttendance, Long>, StudentAttendanceBulkRepository {
 
     @Query("SELECT sa FROM StudentAttendance sa WHERE sa.dancingClass.id = :classId AND sa.attendanceDate = :attendanceDate")
     List<StudentAttendance> findByClassIdAndAttendanceDate(
             @Param("classId") Long classId,
             @Param("attendanceDate") LocalDate attendanceDate);
 
+    /**
+     * One row per enrolled student with the status recorded for the date, driven from the class so an
+     * existing class with no enrollments still yields a single row with a null student.
+     */
+    @Query("""
+            SELECT new br.com.ludus.checkin.dto.attendance.StudentAttendanceItemDto(
+                s.id, s.name, COALESCE(e.role, 'CONDUCTED'), COALESCE(CAST(sa.status AS String), 'PENDENTE'))
+            FROM DancingClass dc
+            LEFT JOIN DancingClassEnrollment e ON e.dancingClass = dc
+            LEFT JOIN e.student s
+            LEFT JOIN StudentAttendance sa
+                ON sa.student = s AND sa.dancingClass = dc AND sa.attendanceDate = :attendanceDate
+            WHERE dc.id = :classId
+            ORDER BY s.name
+            """)
+    List<StudentAttendanceItemDto> findSheetByClassIdAndAttendanceDate(
+            @Param("classId") Long classId,
+            @Param("attendanceDate") LocalDate attendanceDate);
+
     @Query("SELECT sa FROM StudentAttendance sa WHERE sa.student.id = :studentId AND sa.dancingClass.id = :classId AND sa.attendanceDate = :attendanceDate")
     Optional<StudentAttendance> findByStudentIdAndClassIdAndAttendanceDate(
             @Param("studentId") Long studentId,
             @Param("classId") Long classId,
             @Param("attendanceDate") LocalDate attendanceDate);
+
+    long countByAttendanceDateAndStatus(LocalDate attendanceDate, AttendanceStatusEnum status);
 }
@@ -1,5 +1,7 @@
 package br.com.ludus.checkin.repository;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.ludus.checkin.dto.student.StudentDto;
 import br.com.ludus.checkin.model.Student;
 
 @Repository
@@ -19,13 +22,57 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
         void deleteById(@Param("id") Long id);
 
         @Query("""
-                        SELECT s
+                        SELECT new br.com.ludus.checkin.dto.student.StudentDto(
+                            s.id, s.name, s.contact, s.cpf, s.email, s.active, s.deleted, s.birth, s.enrollmentDate)
                         FROM Student s
                         JOIN s.enrollments e
                         WHERE e.dancingClass.id = :dancingClassId
                         """)
-        Page<Student> findStudentsByDancingClassId(Pageable pageable, @Param("dancingClassId") Long dancingClassId);
+        Page<StudentDto> findStudentsByDancingClassId(Pageable pageable, @Param("dancingClassId") Long dancingClassId);
+
+        Page<StudentDto> findAllBy(Pageable pageable);
+
+        Page<StudentDto> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+        /**
+         * The given CPFs already taken, soft-deleted students included, as the unique constraint counts them.
+         * Bound as one array, so the statement is the same whatever the batch size.
+         */
+        @Query(value = "SELECT s.cpf FROM checkin.student s WHERE s.cpf = ANY(CAST(:cpfs AS varchar[]))", nativeQuery = true)
+        List<String> findExistingCpfs(@Param("cpfs") String[] cpfs);
+
+        interface SearchRow {
+                Long getId();
+
+                String getName();
+
+                String getCpf();
+
+                String getContact();
+
+                Float getDistance();
+        }
 
-        Page<Student> findByNameContainingIgnoreCase(String name, Pageable pageable);
+        /**
+         * Students whose search text contains a close match for {@code term}, nearest first. The ordering
+         * is served by the GiST trigram index; {@code (afterDistance, afterId)} is the keyset cursor of
+         * the previous page ({@code -1, 0} for the first one).
+         */
+        @Query(value = """
+                        SELECT s.id AS id, s.name AS name, s.cpf AS cpf, s.contact AS contact,
+                               s.search_text <->> :term AS distance
+                        FROM checkin.student s
+                        WHERE s.is_deleted = false
+                          AND s.search_text %> :term
+                          AND (s.search_text <->> :term > :afterDistance
+                               OR (s.search_text <->> :term = :afterDistance AND s.id > :afterId))
+                        ORDER BY s.search_text <->> :term, s.id
+                        LIMIT :limit
+                        """, nativeQuery = true)
+        List<SearchRow> search(
+                        @Param("term") String term,
+                        @Param("afterDistance") float afterDistance,
+                        @Param("afterId") long afterId,
+                        @Param("limit") int limit);
 
 }
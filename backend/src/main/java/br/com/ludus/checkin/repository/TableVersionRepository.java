@@ -0,0 +1,29 @@
+package br.com.ludus.checkin.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import br.com.ludus.checkin.model.TableVersion;
+
+@org.springframework.stereotype.Repository
+public interface TableVersionRepository extends Repository<TableVersion, Long> {
+
+    interface Version {
+        String getTableName();
+
+        long getVersion();
+    }
+
+    @Query("""
+            SELECT v.tableName AS tableName, SUM(v.version) AS version
+            FROM TableVersion v
+            WHERE v.tableName IN :tables
+            GROUP BY v.tableName
+            """)
+    List<Version> sumByTableName(@Param("tables") Collection<String> tables);
+
+}
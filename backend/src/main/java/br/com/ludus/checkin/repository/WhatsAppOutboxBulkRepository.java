@@ -0,0 +1,12 @@
+package br.com.ludus.checkin.repository;
+
+import java.util.List;
+
+import br.com.ludus.checkin.dto.whatsapp.WhatsAppMessageDto;
+
+/** Set-based writes for {@code whatsapp_outbox}. */
+public interface WhatsAppOutboxBulkRepository {
+
+    /** Inserts the messages as {@code PENDING} rows, due immediately, in one JDBC batch. */
+    void insertPending(List<WhatsAppMessageDto> messages);
+}
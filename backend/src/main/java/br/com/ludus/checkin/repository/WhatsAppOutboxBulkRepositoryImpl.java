@@ -0,0 +1,47 @@
+package br.com.ludus.checkin.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.ludus.checkin.dto.whatsapp.WhatsAppMessageDto;
+import br.com.ludus.checkin.enums.OutboxStatusEnum;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class WhatsAppOutboxBulkRepositoryImpl implements WhatsAppOutboxBulkRepository {
+
+    private static final String INSERT_PENDING = """
+            INSERT INTO checkin.whatsapp_outbox
+                (attendance_request_id, phone, body, status, attempts, next_attempt_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 0, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertPending(List<WhatsAppMessageDto> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String pending = OutboxStatusEnum.PENDING.name();
+
+        jdbcTemplate.batchUpdate(INSERT_PENDING, messages, messages.size(), (ps, message) -> {
+            if (message.attendanceRequestId() != null) {
+                ps.setLong(1, message.attendanceRequestId());
+            } else {
+                ps.setNull(1, Types.BIGINT);
+            }
+            ps.setString(2, message.phone());
+            ps.setString(3, message.body());
+            ps.setString(4, pending);
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.ludus.checkin.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.ludus.checkin.enums.OutboxStatusEnum;
+import br.com.ludus.checkin.model.WhatsAppOutboxMessage;
+
+@Repository
+public interface WhatsAppOutboxRepository extends JpaRepository<WhatsAppOutboxMessage, Long>, WhatsAppOutboxBulkRepository {
+
+    /** Locks due rows; rows already locked by another instance are skipped instead of waited on. */
+    @Query(value = """
+            SELECT * FROM checkin.whatsapp_outbox
+            WHERE status IN ('PENDING', 'SENDING')
+              AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<WhatsAppOutboxMessage> findDueForUpdate(
+            @Param("now") LocalDateTime now,
+            @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("""
+            UPDATE WhatsAppOutboxMessage o
+            SET o.status = :canceled, o.updatedAt = LOCAL_DATETIME
+            WHERE o.attendanceRequestId IN :attendanceRequestIds
+              AND o.status = :pending
+            """)
+    int cancelPending(
+            @Param("attendanceRequestIds") Collection<Long> attendanceRequestIds,
+            @Param("pending") OutboxStatusEnum pending,
+            @Param("canceled") OutboxStatusEnum canceled);
+
+    @Modifying
+    @Query("""
+            UPDATE WhatsAppOutboxMessage o
+            SET o.status = :status, o.sentAt = :sentAt, o.nextAttemptAt = :nextAttemptAt,
+                o.lastError = :lastError, o.updatedAt = LOCAL_DATETIME
+            WHERE o.id = :id
+              AND o.status = :sending
+              AND o.attempts = :attempts
+            """)
+    int completeAttempt(
+            @Param("id") Long id,
+            @Param("attempts") int attempts,
+            @Param("sending") OutboxStatusEnum sending,
+            @Param("status") OutboxStatusEnum status,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError);
+}
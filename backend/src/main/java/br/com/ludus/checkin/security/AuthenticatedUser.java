@@ -0,0 +1,7 @@
+package br.com.ludus.checkin.security;
+
+import java.util.List;
+
+/** Principal of an authenticated request, rebuilt from the token claims without reading {@code users}. */
+public record AuthenticatedUser(Long id, String username, List<String> roles) {
+}
@@ -5,15 +5,13 @@ import java.util.Optional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import br.com.ludus.checkin.security.model.User;
-
 public class LoggedUser {
 
-    public static User get() {
+    public static AuthenticatedUser get() {
         return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
                 .map(Authentication::getPrincipal)
-                .filter(User.class::isInstance)
-                .map(User.class::cast)
+                .filter(AuthenticatedUser.class::isInstance)
+                .map(AuthenticatedUser.class::cast)
                 .orElseThrow(() -> new RuntimeException("User not authenticated or invalid Authentication type."));
     }
 }
@@ -1,37 +1,50 @@
 package br.com.ludus.checkin.security.config;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 
-import br.com.ludus.checkin.security.service.UserService;
+import br.com.ludus.checkin.security.AuthenticatedUser;
+import br.com.ludus.checkin.security.service.TokenRevocations;
+import br.com.ludus.checkin.security.service.TokenService;
+import br.com.ludus.checkin.security.service.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Authenticates bearer tokens from their claims alone: the principal, roles, epoch and refresh family
+ * come from the verified token and revocation is a lookup in {@link TokenRevocations}, so no request
+ * reaches the database.
+ */
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
-    private final String secret;
-    private final UserService userService;
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final VerifiedTokenCache verifiedTokens;
+    private final TokenRevocations tokenRevocations;
 
     @Autowired
     public SecurityFilter(
-            @Value("${spring.security.token.secret}") final String secret,
-            final UserService userService) {
-        this.secret = secret;
-        this.userService = userService;
+            final TokenService tokenService,
+            final VerifiedTokenCache verifiedTokens,
+            final TokenRevocations tokenRevocations) {
+        this.tokenService = tokenService;
+        this.verifiedTokens = verifiedTokens;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Override
@@ -41,27 +54,44 @@ public class SecurityFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
         final var token = this.recoverToken(request);
         if (Objects.nonNull(token)) {
-
-            final var algorithm = Algorithm.HMAC256(secret);
-            final var verifier = JWT.require(algorithm).build();
-            final var decodedJWT = verifier.verify(token);
-
-            final var authorities = decodedJWT.getClaim("roles").asList(String.class)
-                    .stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
-            final var user = this.userService.loadUserByUsername(decodedJWT.getClaim("sub").asString());
-            final var authentication = new UsernamePasswordAuthenticationToken(user, token, authorities);
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            try {
+                final var verified = this.verifiedTokens.get(token, this::verify);
+                if (this.tokenRevocations.isCurrent(
+                        verified.principal().username(), verified.epoch(), verified.familyId())) {
+                    final var authentication = UsernamePasswordAuthenticationToken.authenticated(
+                            verified.principal(), token, verified.authorities());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            } catch (JWTVerificationException ex) {
+                // Invalid or expired: the request proceeds unauthenticated and protected routes reject it.
+                SecurityContextHolder.clearContext();
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private VerifiedTokenCache.Entry verify(String token) {
+        final var decodedJWT = this.tokenService.verify(token);
+        final var roles = Objects.requireNonNullElse(
+                decodedJWT.getClaim(TokenService.CLAIM_ROLES).asList(String.class), List.<String>of());
+        final List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        final var principal = new AuthenticatedUser(
+                decodedJWT.getClaim(TokenService.CLAIM_USER_ID).asLong(),
+                decodedJWT.getSubject(),
+                List.copyOf(roles));
+        final var epoch = decodedJWT.getClaim(TokenService.CLAIM_EPOCH).asInt();
+        return new VerifiedTokenCache.Entry(principal, authorities, epoch != null ? epoch : 0,
+                decodedJWT.getClaim(TokenService.CLAIM_FAMILY).asString(), decodedJWT.getExpiresAtAsInstant());
+    }
+
     private String recoverToken(HttpServletRequest request) {
         final var authHeader = request.getHeader("Authorization");
         return authHeader == null
                 ? null
-                : authHeader.replace("Bearer ", "");
+                : authHeader.replace(BEARER, "");
     }
 
-}
\ No newline at end of file
+}
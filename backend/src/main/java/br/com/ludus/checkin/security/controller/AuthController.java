@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.ludus.checkin.security.dto.AccountCredentialsDto;
+import br.com.ludus.checkin.security.dto.RefreshTokenDto;
+import br.com.ludus.checkin.security.dto.TokenDto;
 import br.com.ludus.checkin.security.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,12 +26,27 @@ public class AuthController {
 
     @Operation(summary = "Authenticates a user and returns a token", tags = { "Authentication" })
     @PostMapping("/login")
-    public ResponseEntity<Void> signin(@RequestBody @NotNull final AccountCredentialsDto data) {
+    public ResponseEntity<TokenDto> signin(@RequestBody @NotNull final AccountCredentialsDto data) {
         final var login = this.authService.signin(data);
         return ResponseEntity.ok()
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.token())
-                .body(null);
+                .body(login);
     }
 
+    @Operation(summary = "Exchanges a refresh token for a new access and refresh token", tags = { "Authentication" })
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenDto> refresh(@RequestBody @NotNull final RefreshTokenDto data) {
+        final var login = this.authService.refresh(data);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.token())
+                .body(login);
+    }
+
+    @Operation(summary = "Revokes a refresh token and the access tokens issued with it", tags = { "Authentication" })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> signout(@RequestBody @NotNull final RefreshTokenDto data) {
+        this.authService.signout(data);
+        return ResponseEntity.noContent().build();
+    }
 
 }
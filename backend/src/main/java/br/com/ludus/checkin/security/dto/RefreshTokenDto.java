@@ -0,0 +1,7 @@
+package br.com.ludus.checkin.security.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenDto(@NotBlank String refreshToken) {
+
+}
@@ -2,8 +2,11 @@ package br.com.ludus.checkin.security.dto;
 
 import jakarta.validation.constraints.NotBlank;
 
+/** Access token (short-lived JWT) and the refresh token that replaces it; expiresIn is in seconds. */
 public record TokenDto(
         @NotBlank String userName,
-        @NotBlank String token) {
+        @NotBlank String token,
+        @NotBlank String refreshToken,
+        long expiresIn) {
 
 }
@@ -0,0 +1,5 @@
+package br.com.ludus.checkin.security.dto;
+
+/** Published when a user's token epoch was incremented, invalidating every token issued before. */
+public record TokensRevokedEvent(String username) {
+}
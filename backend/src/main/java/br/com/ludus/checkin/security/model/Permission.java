@@ -1,14 +1,19 @@
 package br.com.ludus.checkin.security.model;
 
+import br.com.ludus.checkin.configuration.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 
 @Entity
 @Table(name = "permission", schema = "checkin")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PERMISSION)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,7 +21,8 @@ public class Permission implements GrantedAuthority {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "permission_id_seq")
+    @SequenceGenerator(name = "permission_id_seq", schema = "checkin", sequenceName = "permission_id_seq", allocationSize = 50)
     private Long idPermission;
 
     @Column(name = "description")
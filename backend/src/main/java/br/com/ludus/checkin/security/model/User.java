@@ -2,24 +2,31 @@ package br.com.ludus.checkin.security.model;
 
 import java.util.*;
 
+import br.com.ludus.checkin.configuration.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 @Entity
 @Table(name = "users", schema = "checkin")
+@NamedEntityGraph(name = User.WITH_PERMISSIONS, attributeNodes = @NamedAttributeNode("permissions"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class User implements UserDetails {
 
+    public static final String WITH_PERMISSIONS = "User.withPermissions";
+
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", schema = "checkin", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_name", nullable = false)
@@ -40,7 +47,13 @@ public class User implements UserDetails {
     @Column(name = "enabled", nullable = false)
     private Boolean enabled;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /** Tokens carrying a lower epoch are rejected; bumping it signs the user out everywhere. */
+    @Column(name = "token_epoch", nullable = false)
+    private int tokenEpoch;
+
+    /** Cached as permission ids, so loading a user's roles outside the sign-in graph costs no query. */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_PERMISSIONS)
     @JoinTable(schema = "checkin", name = "user_permission", 
         joinColumns = @JoinColumn(name = "id_user", foreignKey = @ForeignKey(name = "fk_user_user_permission")), 
         inverseJoinColumns = @JoinColumn(name = "id_permission", foreignKey = @ForeignKey(name = "fk_permission_user_permission")))
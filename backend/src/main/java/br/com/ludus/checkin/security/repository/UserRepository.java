@@ -1,8 +1,11 @@
 package br.com.ludus.checkin.security.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.com.ludus.checkin.security.model.User;
@@ -10,6 +13,16 @@ import br.com.ludus.checkin.security.model.User;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    interface TokenEpoch {
+        String getUsername();
+
+        int getTokenEpoch();
+    }
+
+    @EntityGraph(User.WITH_PERMISSIONS)
     Optional<User> findByUsername(String username);
 
+    @Query("SELECT u.username AS username, u.tokenEpoch AS tokenEpoch FROM User u")
+    List<TokenEpoch> findTokenEpochs();
+
 }
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 
 import br.com.ludus.checkin.security.dto.AccountCredentialsDto;
 import br.com.ludus.checkin.security.dto.CreateCredentialsDto;
+import br.com.ludus.checkin.security.dto.RefreshTokenDto;
 import br.com.ludus.checkin.security.dto.TokenDto;
 import br.com.ludus.checkin.security.model.User;
 import lombok.AllArgsConstructor;
@@ -16,7 +17,7 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
-    private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
     private final UserService userService;
 
     public TokenDto signin(final AccountCredentialsDto data) {
@@ -31,8 +32,18 @@ public class AuthService {
                         data.password(),
                         user.getAuthorities()));
 
-        final String token = tokenService.createToken((User) authentication.getPrincipal());
-        return new TokenDto(data.username(), token);
+        return this.refreshTokenService.issue((User) authentication.getPrincipal());
+    }
+
+    /** Exchanges a refresh token for a new pair; the presented token cannot be used again. */
+    public TokenDto refresh(final RefreshTokenDto data) {
+        this.validatedRefreshToken(data);
+        return this.refreshTokenService.rotate(data.refreshToken());
+    }
+
+    public void signout(final RefreshTokenDto data) {
+        this.validatedRefreshToken(data);
+        this.refreshTokenService.revoke(data.refreshToken());
     }
 
     public User create(String password, final String username, final String typeUser) {
@@ -49,4 +60,10 @@ public class AuthService {
         }
     }
 
+    private void validatedRefreshToken(final RefreshTokenDto data) {
+        if (data == null || data.refreshToken() == null || data.refreshToken().isBlank()) {
+            throw new BadCredentialsException("Refresh token não informado");
+        }
+    }
+
 }
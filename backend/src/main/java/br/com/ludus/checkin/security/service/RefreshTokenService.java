@@ -0,0 +1,124 @@
+package br.com.ludus.checkin.security.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.ludus.checkin.security.dto.TokenDto;
+import br.com.ludus.checkin.security.dto.TokensRevokedEvent;
+import br.com.ludus.checkin.security.model.RefreshToken;
+import br.com.ludus.checkin.security.model.User;
+import br.com.ludus.checkin.security.repository.RefreshTokenRepository;
+import br.com.ludus.checkin.service.TokenCodec;
+
+/**
+ * Issues access/refresh token pairs and rotates refresh tokens. Each refresh token is single use:
+ * presenting one that was already rotated means it leaked, so its whole family is revoked and every
+ * access token issued from it stops being accepted once {@link TokenRevocations} refreshes.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final String INVALID = "Refresh token inválido ou expirado";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenService tokenService;
+    private final TokenCodec tokenCodec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long refreshDays;
+
+    public RefreshTokenService(
+            final RefreshTokenRepository refreshTokenRepository,
+            final TokenService tokenService,
+            final TokenCodec tokenCodec,
+            final ApplicationEventPublisher eventPublisher,
+            @Value("${spring.security.token.refresh-expiration-days:14}") final long refreshDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenService = tokenService;
+        this.tokenCodec = tokenCodec;
+        this.eventPublisher = eventPublisher;
+        this.refreshDays = Math.max(refreshDays, 1);
+    }
+
+    /** Starts a new family for a fresh sign-in. */
+    @Transactional
+    public TokenDto issue(final User user) {
+        return this.issue(user, UUID.randomUUID());
+    }
+
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public TokenDto rotate(final String refreshToken) {
+        final var now = LocalDateTime.now();
+        final var current = this.refreshTokenRepository.findByTokenHash(this.tokenCodec.hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException(INVALID));
+        if (current.getRevokedAt() != null || current.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException(INVALID);
+        }
+        if (current.getRotatedAt() != null) {
+            LOGGER.warn("Refresh token reused for user {}; revoking family {}",
+                    current.getUser().getUsername(), current.getFamilyId());
+            this.revokeFamily(current);
+            throw new BadCredentialsException(INVALID);
+        }
+        final var user = current.getUser();
+        if (!user.isEnabled()) {
+            this.revokeFamily(current);
+            throw new BadCredentialsException(INVALID);
+        }
+        current.setRotatedAt(now);
+        return this.issue(user, current.getFamilyId());
+    }
+
+    /** Sign-out: the refresh token and every access token of its family stop working. */
+    @Transactional
+    public void revoke(final String refreshToken) {
+        this.refreshTokenRepository.findByTokenHash(this.tokenCodec.hash(refreshToken))
+                .filter(token -> token.getRevokedAt() == null)
+                .ifPresent(this::revokeFamily);
+    }
+
+    /** Revokes every refresh token the user holds, e.g. after a password change. */
+    @Transactional
+    public void revokeAll(final User user) {
+        this.refreshTokenRepository.revokeAllByUserId(user.getId(), LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${spring.security.token.refresh-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        final int deleted = this.refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            LOGGER.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private void revokeFamily(final RefreshToken token) {
+        this.refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+        this.eventPublisher.publishEvent(new TokensRevokedEvent(token.getUser().getUsername()));
+    }
+
+    private TokenDto issue(final User user, final UUID familyId) {
+        final var now = LocalDateTime.now();
+        final var value = this.tokenCodec.newToken();
+        final var token = new RefreshToken();
+        token.setUser(user);
+        token.setFamilyId(familyId);
+        token.setTokenHash(this.tokenCodec.hash(value));
+        token.setIssuedAt(now);
+        token.setExpiresAt(now.plusDays(this.refreshDays));
+        this.refreshTokenRepository.save(token);
+
+        final var accessToken = this.tokenService.createToken(user, familyId);
+        return new TokenDto(user.getUsername(), accessToken, value, this.tokenService.accessTtl().toSeconds());
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.ludus.checkin.security.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.ludus.checkin.security.dto.TokensRevokedEvent;
+import br.com.ludus.checkin.security.repository.RefreshTokenRepository;
+import br.com.ludus.checkin.security.repository.UserRepository;
+
+/**
+ * In-memory revocation list, so checking an access token costs two lookups. It holds every user's
+ * {@code token_epoch} and the refresh token families revoked within one access token lifetime; older
+ * revocations need no entry because every access token issued before them has already expired.
+ * Revocations made here apply on commit; a periodic refresh picks up other instances.
+ */
+@Component
+public class TokenRevocations {
+
+    private record Snapshot(Map<String, Integer> epochs, Set<String> revokedFamilies) {
+    }
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenService tokenService;
+
+    /** A lock rather than synchronized: a virtual thread blocked in the query inside would pin its carrier. */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public TokenRevocations(
+            final UserRepository userRepository,
+            final RefreshTokenRepository refreshTokenRepository,
+            final TokenService tokenService) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenService = tokenService;
+    }
+
+    /** Whether an access token with the given epoch and family is still accepted for the user. */
+    public boolean isCurrent(String username, int tokenEpoch, String familyId) {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            this.refresh();
+            current = this.snapshot;
+        }
+        return tokenEpoch >= current.epochs().getOrDefault(username, 0)
+                && (familyId == null || !current.revokedFamilies().contains(familyId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRevoked(TokensRevokedEvent event) {
+        this.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${spring.security.token.revocation-refresh-interval-ms:60000}")
+    public void refresh() {
+        this.refreshLock.lock();
+        try {
+            Map<String, Integer> epochs = new HashMap<>();
+            this.userRepository.findTokenEpochs().forEach(row -> epochs.put(row.getUsername(), row.getTokenEpoch()));
+            Set<String> families = new HashSet<>();
+            this.refreshTokenRepository
+                    .findFamiliesRevokedSince(LocalDateTime.now().minus(this.tokenService.accessTtl()))
+                    .forEach(family -> families.add(family.toString()));
+            this.snapshot = new Snapshot(Map.copyOf(epochs), Set.copyOf(families));
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package br.com.ludus.checkin.security.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 
 import br.com.ludus.checkin.security.model.User;
 
@@ -15,42 +20,64 @@ import br.com.ludus.checkin.security.model.User;
 @Service
 public class TokenService {
 
-    private final String secret;
+    public static final String ISSUER = "checkin";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_EPOCH = "epoch";
+    public static final String CLAIM_FAMILY = "fid";
+
+    // Algorithm and JWTVerifier are immutable and thread-safe; building them per call cost a MAC setup each time.
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Duration accessTtl;
 
     @Autowired
-    public TokenService(@Value("${spring.security.token.secret}") final String secret) {
-        this.secret = secret;
+    public TokenService(
+            @Value("${spring.security.token.secret}") final String secret,
+            @Value("${spring.security.token.access-expiration-minutes:15}") final long accessMinutes) {
+        this.accessTtl = Duration.ofMinutes(Math.max(accessMinutes, 1));
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(this.algorithm)
+                .withIssuer(ISSUER)
+                .build();
     }
 
-    public String createToken(final User user) {
+    /** Short-lived access token; familyId ties it to the refresh token family it was issued with. */
+    public String createToken(final User user, final UUID familyId) {
         try {
-            final var algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("checkin")
-                    .withClaim("roles", user.getRoles())
+                    .withIssuer(ISSUER)
+                    .withClaim(CLAIM_USER_ID, user.getId())
+                    .withClaim(CLAIM_ROLES, user.getRoles())
+                    .withClaim(CLAIM_EPOCH, user.getTokenEpoch())
+                    .withClaim(CLAIM_FAMILY, familyId.toString())
                     .withSubject(user.getUsername())
                     .withExpiresAt(this.expirationDate())
-                    .sign(algorithm);
+                    .sign(this.algorithm);
         } catch (Exception exception) {
             throw new RuntimeException("Error to generate Token JWT");
         }
     }
 
+    /** Checks signature, issuer and expiry; throws {@link JWTVerificationException} otherwise. */
+    public DecodedJWT verify(final String tokenJWT) {
+        return this.verifier.verify(tokenJWT);
+    }
+
     public String getSubject(final String tokenJWT) {
         try {
-            final var algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("checkin")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            return this.verify(tokenJWT).getSubject();
         } catch (Exception e) {
             throw new RuntimeException("Token JWT Invalid or expired");
         }
     }
 
+    public Duration accessTtl() {
+        return this.accessTtl;
+    }
+
     private Instant expirationDate() {
-        return Instant.now().plusSeconds(21600);
+        return Instant.now().plus(this.accessTtl);
     }
 
 }
@@ -2,12 +2,15 @@ package br.com.ludus.checkin.security.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.ludus.checkin.security.dto.CreateCredentialsDto;
+import br.com.ludus.checkin.security.dto.TokensRevokedEvent;
 import br.com.ludus.checkin.security.model.User;
 import br.com.ludus.checkin.security.repository.UserRepository;
 import lombok.AllArgsConstructor;
@@ -18,6 +21,8 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PermissionService permissionService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -43,10 +48,26 @@ public class UserService implements UserDetailsService {
         return this.userRepository.saveAndFlush(user);
     }
 
+    @Transactional
     public User setNewPassword(String username, String newPassword) {
         final var user = this.findUserByUsername(username);
         user.setPassword(newPassword);
+        this.revokeTokens(user);
         return this.userRepository.saveAndFlush(user);
     }
 
+    /** Invalidates every token issued to the user so far; they have to sign in again. */
+    @Transactional
+    public void revokeTokens(String username) {
+        final var user = this.findUserByUsername(username);
+        this.revokeTokens(user);
+        this.userRepository.saveAndFlush(user);
+    }
+
+    private void revokeTokens(User user) {
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+        this.refreshTokenService.revokeAll(user);
+        this.eventPublisher.publishEvent(new TokensRevokedEvent(user.getUsername()));
+    }
+
 }
@@ -0,0 +1,68 @@
+package br.com.ludus.checkin.security.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.ludus.checkin.security.AuthenticatedUser;
+
+/**
+ * Bounded cache of tokens that already passed verification, keyed by their signature. Entries expire
+ * with the token, so a client re-sending the same bearer token skips the HMAC check and claim parsing.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public record Entry(
+            AuthenticatedUser principal,
+            List<GrantedAuthority> authorities,
+            int epoch,
+            String familyId,
+            Instant expiresAt) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public VerifiedTokenCache(@Value("${spring.security.token.cache.max-size:10000}") final long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 1))
+                .expireAfter(Expiry.creating((String signature, Entry entry) -> untilExpiry(entry)))
+                .build();
+    }
+
+    /**
+     * The signature is the HMAC over header and payload, so only a caller holding the original token can
+     * produce a hit. The loader verifies on a miss and propagates its exception; failures are not cached.
+     */
+    public Entry get(String token, Function<String, Entry> loader) {
+        int dot = token.lastIndexOf('.');
+        if (dot < 0) {
+            return loader.apply(token);
+        }
+        String signature = token.substring(dot + 1);
+        Entry entry = cache.getIfPresent(signature);
+        if (entry != null && Instant.now().isBefore(entry.expiresAt())) {
+            return entry;
+        }
+        entry = loader.apply(token);
+        cache.put(signature, entry);
+        return entry;
+    }
+
+    private static Duration untilExpiry(Entry entry) {
+        if (entry.expiresAt() == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(Instant.now(), entry.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
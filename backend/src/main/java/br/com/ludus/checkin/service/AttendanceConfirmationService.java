@@ -1,34 +1,37 @@
 package br.com.ludus.checkin.service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import br.com.ludus.checkin.dto.attendance.AttendanceConfirmationInfoDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestUpsertDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestsIssuedEvent;
 import br.com.ludus.checkin.dto.attendance.AttendanceRespondDto;
 import br.com.ludus.checkin.dto.attendance.SendAttendanceResponseDto;
 import br.com.ludus.checkin.dto.attendance.UpdateAttendanceDto;
+import br.com.ludus.checkin.dto.whatsapp.WhatsAppMessageDto;
 import br.com.ludus.checkin.enums.AttendanceRequestStatusEnum;
 import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
 import br.com.ludus.checkin.model.AttendanceRequest;
 import br.com.ludus.checkin.model.DancingClass;
 import br.com.ludus.checkin.model.DancingClassEnrollment;
+import br.com.ludus.checkin.model.DancingClassHeader;
 import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.repository.AttendanceRequestRepository;
 import br.com.ludus.checkin.repository.DancingClassEnrollmentRepository;
@@ -38,14 +41,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AttendanceConfirmationService {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AttendanceConfirmationService.class);
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 
     private final AttendanceRequestRepository attendanceRequestRepository;
     private final DancingClassEnrollmentRepository enrollmentRepository;
     private final DancingClassService dancingClassService;
     private final StudentAttendanceService studentAttendanceService;
-    private final WhatsAppService whatsAppService;
+    private final WhatsAppOutboxService whatsAppOutboxService;
+    private final TokenCodec tokenCodec;
+    private final ConfirmationTokenCache confirmationTokenCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${attendance.confirmation.token-expiration-hours:12}")
     private int tokenExpirationHours;
@@ -53,6 +58,12 @@ public class AttendanceConfirmationService {
     @Value("${attendance.confirmation.frontend-base-url:http://localhost:5173}")
     private String frontendBaseUrl;
 
+    /**
+     * Issues today's confirmation tokens for every enrolled student and queues the WhatsApp messages in
+     * the outbox within the same short transaction. Requests are upserted in a single JDBC batch, so the
+     * number of round trips does not grow with the size of the class. Delivery happens afterwards in
+     * {@link WhatsAppOutboxDrainer}, so the call returns without waiting for the provider.
+     */
     @Transactional(rollbackFor = Exception.class)
     public SendAttendanceResponseDto sendRequestsForToday(Long classId) {
         if (classId == null) {
@@ -60,61 +71,59 @@ public class AttendanceConfirmationService {
         }
 
         LocalDate attendanceDate = LocalDate.now();
-        DancingClass dancingClass = dancingClassService.findById(classId);
+        DancingClassHeader dancingClass = dancingClassService.findHeader(classId);
         List<DancingClassEnrollment> enrollments = enrollmentRepository.findByDancingClassIdOrderByStudentName(classId);
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(Math.max(tokenExpirationHours, 1));
 
-        int sentMessages = 0;
+        List<AttendanceRequestUpsertDto> rows = new ArrayList<>(enrollments.size());
+        Map<Long, String> tokensByStudent = new HashMap<>(enrollments.size() * 2);
         for (DancingClassEnrollment enrollment : enrollments) {
             Student student = enrollment.getStudent();
             if (student == null) {
                 continue;
             }
 
-            String token = UUID.randomUUID().toString().replace("-", "");
-            String tokenHash = hashToken(token);
-            LocalDateTime expiresAt = LocalDateTime.now().plusHours(Math.max(tokenExpirationHours, 1));
-
-            AttendanceRequest request = attendanceRequestRepository
-                    .findByDancingClassIdAndStudentIdAndDate(classId, student.getId(), attendanceDate)
-                    .orElseGet(AttendanceRequest::new);
-
-            request.setDancingClass(dancingClass);
-            request.setStudent(student);
-            request.setDate(attendanceDate);
-            request.setTokenHash(tokenHash);
-            request.setStatus(AttendanceRequestStatusEnum.PENDING);
-            request.setRespondedAt(null);
-            request.setExpiresAt(expiresAt);
-            attendanceRequestRepository.save(request);
-
-            String phone = Optional.ofNullable(student.getContact()).map(String::trim).orElse("");
-            if (phone.isBlank()) {
-                continue;
-            }
+            String token = tokenCodec.newToken();
+            DeliveryStatusEnum deliveryStatus = contactOf(student).isBlank()
+                    ? DeliveryStatusEnum.NO_CONTACT
+                    : DeliveryStatusEnum.QUEUED;
+            rows.add(new AttendanceRequestUpsertDto(student.getId(), tokenCodec.hash(token), deliveryStatus));
+            tokensByStudent.put(student.getId(), token);
+        }
 
-            String link = buildConfirmationLink(token);
-            String message = buildMessage(student.getName(), dancingClass, link);
-            try {
-                whatsAppService.sendMessage(phone, message);
-                sentMessages++;
-            } catch (RuntimeException ex) {
-                LOGGER.error("Falha ao enviar WhatsApp para studentId={} phone={}", student.getId(), phone, ex);
+        attendanceRequestRepository.upsertPending(classId, attendanceDate, expiresAt, rows);
+        eventPublisher.publishEvent(new AttendanceRequestsIssuedEvent(classId, attendanceDate));
+        Map<Long, Long> requestIdsByStudent = rows.isEmpty()
+                ? Map.of()
+                : attendanceRequestRepository.findIdsByStudent(classId, attendanceDate);
+
+        List<WhatsAppMessageDto> messages = new ArrayList<>(rows.size());
+        for (DancingClassEnrollment enrollment : enrollments) {
+            Student student = enrollment.getStudent();
+            if (student == null || contactOf(student).isBlank()) {
+                continue;
             }
+            String link = buildConfirmationLink(tokensByStudent.get(student.getId()));
+            messages.add(new WhatsAppMessageDto(
+                    requestIdsByStudent.get(student.getId()),
+                    contactOf(student),
+                    buildMessage(student.getName(), dancingClass, link)));
         }
+        whatsAppOutboxService.enqueue(messages);
 
-        return new SendAttendanceResponseDto(attendanceDate, enrollments.size(), sentMessages);
+        return new SendAttendanceResponseDto(attendanceDate, enrollments.size(), messages.size());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link ConfirmationTokenCache}; only the first lookup of a token reaches the database,
+     * so no transaction is opened here.
+     */
     public AttendanceConfirmationInfoDto getConfirmationInfo(String token) {
-        AttendanceRequest request = resolveActiveToken(token);
-        DancingClass dancingClass = request.getDancingClass();
-
-        return new AttendanceConfirmationInfoDto(
-                request.getStudent().getName(),
-                Optional.ofNullable(dancingClass.getBeat()).map(beat -> beat.getName()).orElse("Turma"),
-                weekdayLabel(dancingClass.getDayWeek()),
-                dancingClass.getStartSchedule().format(TIME_FORMAT) + " - " + dancingClass.getEndSchedule().format(TIME_FORMAT));
+        ConfirmationTokenCache.Snapshot snapshot = confirmationTokenCache.get(hashOf(token), this::loadSnapshot);
+        if (isExpired(snapshot.expiresAt())) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Token expirado.");
+        }
+        return snapshot.info();
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -151,6 +160,7 @@ public class AttendanceConfirmationService {
         request.setStatus(requestStatus);
         request.setRespondedAt(LocalDateTime.now());
         attendanceRequestRepository.save(request);
+        confirmationTokenCache.invalidate(request.getTokenHash());
 
         studentAttendanceService.createOrUpdate(new UpdateAttendanceDto(
                 request.getStudent().getId(),
@@ -160,19 +170,47 @@ public class AttendanceConfirmationService {
     }
 
     private AttendanceRequest resolveActiveToken(String token) {
-        if (token == null || token.isBlank()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token inválido.");
+        AttendanceRequest request = findByHash(hashOf(token));
+        if (isExpired(request.getExpiresAt())) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Token expirado.");
         }
 
-        String hash = hashToken(token.trim());
-        AttendanceRequest request = attendanceRequestRepository.findByTokenHash(hash)
+        return request;
+    }
+
+    private ConfirmationTokenCache.Snapshot loadSnapshot(String hash) {
+        AttendanceRequest request = findByHash(hash);
+        DancingClass dancingClass = request.getDancingClass();
+
+        return new ConfirmationTokenCache.Snapshot(
+                dancingClass.getId(),
+                request.getDate(),
+                request.getExpiresAt(),
+                new AttendanceConfirmationInfoDto(
+                        request.getStudent().getName(),
+                        Optional.ofNullable(dancingClass.getBeat()).map(beat -> beat.getName()).orElse("Turma"),
+                        weekdayLabel(dancingClass.getDayWeek()),
+                        dancingClass.getStartSchedule().format(TIME_FORMAT) + " - " + dancingClass.getEndSchedule().format(TIME_FORMAT)));
+    }
+
+    private AttendanceRequest findByHash(String hash) {
+        return attendanceRequestRepository.findByTokenHash(hash)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Token não encontrado."));
+    }
 
-        if (request.getExpiresAt() == null || request.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new ResponseStatusException(HttpStatus.GONE, "Token expirado.");
+    private String hashOf(String token) {
+        if (token == null || token.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token inválido.");
         }
+        return tokenCodec.hash(token.trim());
+    }
 
-        return request;
+    private boolean isExpired(LocalDateTime expiresAt) {
+        return expiresAt == null || expiresAt.isBefore(LocalDateTime.now());
+    }
+
+    private String contactOf(Student student) {
+        return Optional.ofNullable(student.getContact()).map(String::trim).orElse("");
     }
 
     private String buildConfirmationLink(String token) {
@@ -183,7 +221,7 @@ public class AttendanceConfirmationService {
         return baseUrl + "/attendance/confirm?token=" + token;
     }
 
-    private String buildMessage(String studentName, DancingClass dancingClass, String confirmationLink) {
+    private String buildMessage(String studentName, DancingClassHeader dancingClass, String confirmationLink) {
         String className = Optional.ofNullable(dancingClass.getBeat())
                 .map(beat -> beat.getName())
                 .orElse("Turma");
@@ -223,18 +261,4 @@ public class AttendanceConfirmationService {
             case SUNDAY -> "Domingo";
         };
     }
-
-    private String hashToken(String token) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            StringBuilder builder = new StringBuilder(hash.length * 2);
-            for (byte b : hash) {
-                builder.append(String.format("%02x", b));
-            }
-            return builder.toString();
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("SHA-256 não disponível", ex);
-        }
-    }
 }
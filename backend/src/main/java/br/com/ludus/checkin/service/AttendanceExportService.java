@@ -0,0 +1,75 @@
+package br.com.ludus.checkin.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.ludus.checkin.enums.ExportFormatEnum;
+import br.com.ludus.checkin.repository.StudentAttendanceRepository;
+
+/**
+ * Exports attendance history for an arbitrary date range. Rows go from a server-side cursor straight to
+ * the response as they are fetched, so memory stays constant however long the range is and the first
+ * bytes leave as soon as the first batch arrives.
+ */
+@Service
+public class AttendanceExportService {
+
+    private final StudentAttendanceRepository attendanceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public AttendanceExportService(
+            final StudentAttendanceRepository attendanceRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${attendance.export.fetch-size:500}") final int fetchSize) {
+        this.attendanceRepository = attendanceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = Math.max(fetchSize, 1);
+    }
+
+    public ExportFormatEnum parseFormat(String format) {
+        try {
+            return ExportFormatEnum.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + format);
+        }
+    }
+
+    /**
+     * Validates the filter up front, while an error can still become a 400, and returns the body that runs
+     * the query once the response starts. The transaction keeps autocommit off for the cursor.
+     */
+    public StreamingResponseBody export(LocalDate from, LocalDate to, Long classId, ExportFormatEnum format) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final");
+        }
+        return out -> {
+            try (var writer = AttendanceExportWriter.open(format, out)) {
+                this.readOnlyTransaction.executeWithoutResult(status -> this.attendanceRepository
+                        .streamHistory(from, to, classId, this.fetchSize, row -> {
+                            try {
+                                writer.write(row);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    public String fileName(LocalDate from, LocalDate to, Long classId, ExportFormatEnum format) {
+        String scope = classId != null ? "turma-" + classId + "_" : "";
+        return "presencas_" + scope + from + "_" + to + "." + format.getExtension();
+    }
+}
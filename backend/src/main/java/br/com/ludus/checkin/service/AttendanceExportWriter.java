@@ -0,0 +1,29 @@
+package br.com.ludus.checkin.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceHistoryRowDto;
+import br.com.ludus.checkin.enums.ExportFormatEnum;
+
+/** Writes exported attendance rows one at a time; {@link #close()} completes the document. */
+interface AttendanceExportWriter extends Closeable {
+
+    String[] HEADER = {
+            "Data", "Turma", "Ritmo", "Nível", "Dia", "Início", "Fim", "Aluno ID", "Aluno", "CPF", "Status"
+    };
+
+    void write(AttendanceHistoryRowDto row) throws IOException;
+
+    static AttendanceExportWriter open(ExportFormatEnum format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvAttendanceExportWriter(out);
+            case XLSX -> new XlsxAttendanceExportWriter(out);
+        };
+    }
+
+    static String text(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
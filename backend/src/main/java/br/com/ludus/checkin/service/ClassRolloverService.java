@@ -0,0 +1,115 @@
+package br.com.ludus.checkin.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchItemDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchResultDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassResultDto;
+import br.com.ludus.checkin.model.DancingClass;
+import br.com.ludus.checkin.repository.DancingClassRepository;
+
+/**
+ * End-of-term rollover: progresses many classes in one call. The classes are split into chunks, each
+ * chunk is progressed in its own transaction and chunks run in parallel. A class that fails validation is
+ * reported and skipped without affecting the rest of its chunk; a database error fails its whole chunk.
+ */
+@Service
+public class ClassRolloverService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassRolloverService.class);
+
+    private final DancingClassService dancingClassService;
+    private final DancingClassRepository dancingClassRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int chunkSize;
+
+    public ClassRolloverService(
+            final DancingClassService dancingClassService,
+            final DancingClassRepository dancingClassRepository,
+            final PlatformTransactionManager transactionManager,
+            @Qualifier("classRolloverExecutor") final ExecutorService executor,
+            @Value("${dancing-class.rollover.chunk-size:25}") final int chunkSize) {
+        this.dancingClassService = dancingClassService;
+        this.dancingClassRepository = dancingClassRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    public ProgressClassBatchResultDto progressAll(ProgressClassBatchDto dto) {
+        List<ProgressClassResultDto> results = new ArrayList<>();
+        List<ProgressClassBatchItemDto> pending = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (ProgressClassBatchItemDto item : dto.classes()) {
+            if (seen.add(item.classId())) {
+                pending.add(item);
+            } else {
+                results.add(ProgressClassResultDto.failed(item.classId(), "Turma repetida na requisição."));
+            }
+        }
+
+        List<CompletableFuture<List<ProgressClassResultDto>>> chunks = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += this.chunkSize) {
+            List<ProgressClassBatchItemDto> chunk = pending.subList(from, Math.min(from + this.chunkSize, pending.size()));
+            chunks.add(CompletableFuture
+                    .supplyAsync(() -> this.progressChunk(chunk), this.executor)
+                    .exceptionally(error -> this.failChunk(chunk, error)));
+        }
+        List<ProgressClassResultDto> progressed = chunks.stream()
+                .flatMap(chunk -> chunk.join().stream())
+                .toList();
+        results.addAll(0, progressed);
+
+        int succeeded = (int) results.stream().filter(result -> result.error() == null).count();
+        return new ProgressClassBatchResultDto(succeeded, results.size() - succeeded, results);
+    }
+
+    private List<ProgressClassResultDto> progressChunk(List<ProgressClassBatchItemDto> chunk) {
+        return this.transactionTemplate.execute(status -> {
+            Map<Long, DancingClass> classes = this.dancingClassRepository
+                    .lockAllById(chunk.stream().map(ProgressClassBatchItemDto::classId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(DancingClass::getId, Function.identity()));
+            List<ProgressClassResultDto> results = new ArrayList<>(chunk.size());
+            for (ProgressClassBatchItemDto item : chunk) {
+                DancingClass current = classes.get(item.classId());
+                if (current == null) {
+                    results.add(ProgressClassResultDto.failed(item.classId(), "Turma não encontrada."));
+                    continue;
+                }
+                try {
+                    results.add(this.dancingClassService.progress(current, item.toProgress()));
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    results.add(ProgressClassResultDto.failed(item.classId(), e.getMessage()));
+                }
+            }
+            return results;
+        });
+    }
+
+    private List<ProgressClassResultDto> failChunk(List<ProgressClassBatchItemDto> chunk, Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        LOGGER.error("Rollover chunk of {} classes failed", chunk.size(), cause);
+        return chunk.stream()
+                .map(item -> ProgressClassResultDto.failed(item.classId(), "Falha ao progredir o lote: " + cause.getMessage()))
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.ludus.checkin.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceConfirmationInfoDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestsIssuedEvent;
+
+/**
+ * Bounded cache of confirmation page data keyed by token hash. Entries live until their token expires,
+ * so the burst of clicks that follows a class send is served without going to the database. The hashes
+ * cached for each class and date are indexed, so a re-send drops exactly those entries.
+ */
+@Component
+public class ConfirmationTokenCache {
+
+    public record Snapshot(
+            Long classId,
+            LocalDate date,
+            LocalDateTime expiresAt,
+            AttendanceConfirmationInfoDto info) {
+    }
+
+    private record ClassDay(Long classId, LocalDate date) {
+    }
+
+    private final Cache<String, Snapshot> cache;
+    private final ConcurrentHashMap<ClassDay, Set<String>> hashesByClassDay = new ConcurrentHashMap<>();
+
+    public ConfirmationTokenCache(@Value("${attendance.confirmation.cache.max-size:10000}") final long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 1))
+                .expireAfter(Expiry.creating((String hash, Snapshot snapshot) -> untilExpiry(snapshot)))
+                .executor(Runnable::run)
+                .removalListener((String hash, Snapshot snapshot, RemovalCause cause) -> unindex(hash, snapshot))
+                .build();
+    }
+
+    public Snapshot get(String tokenHash, Function<String, Snapshot> loader) {
+        // Indexed inside the load, so an invalidation racing with it waits for the entry and removes it.
+        return cache.get(tokenHash, hash -> {
+            Snapshot snapshot = loader.apply(hash);
+            if (snapshot != null) {
+                hashesByClassDay.computeIfAbsent(classDay(snapshot), key -> ConcurrentHashMap.newKeySet()).add(hash);
+            }
+            return snapshot;
+        });
+    }
+
+    public void invalidate(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    /** Drops every token issued for the class on the date; they are superseded when requests are re-sent. */
+    public void invalidateClass(Long classId, LocalDate date) {
+        Set<String> hashes = hashesByClassDay.remove(new ClassDay(classId, date));
+        if (hashes != null) {
+            cache.invalidateAll(hashes);
+        }
+    }
+
+    /**
+     * After commit only: invalidating inside the sending transaction would let a concurrent lookup cache
+     * the rows it is replacing again before they are committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestsIssued(AttendanceRequestsIssuedEvent event) {
+        invalidateClass(event.classId(), event.date());
+    }
+
+    private void unindex(String hash, Snapshot snapshot) {
+        if (hash == null || snapshot == null) {
+            return;
+        }
+        hashesByClassDay.computeIfPresent(classDay(snapshot), (key, hashes) -> {
+            hashes.remove(hash);
+            return hashes.isEmpty() ? null : hashes;
+        });
+    }
+
+    private static ClassDay classDay(Snapshot snapshot) {
+        return new ClassDay(snapshot.classId(), snapshot.date());
+    }
+
+    private static Duration untilExpiry(Snapshot snapshot) {
+        if (snapshot.expiresAt() == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(LocalDateTime.now(), snapshot.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.ludus.checkin.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceHistoryRowDto;
+
+/**
+ * Semicolon separated with a UTF-8 BOM, which is what spreadsheet apps in a pt-BR locale open without an
+ * import wizard.
+ */
+class CsvAttendanceExportWriter implements AttendanceExportWriter {
+
+    private static final char SEPARATOR = ';';
+
+    private final Writer writer;
+
+    CsvAttendanceExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write('\uFEFF');
+        this.writeLine(HEADER);
+    }
+
+    @Override
+    public void write(AttendanceHistoryRowDto row) throws IOException {
+        this.writeLine(
+                AttendanceExportWriter.text(row.attendanceDate()),
+                AttendanceExportWriter.text(row.classId()),
+                row.beat(),
+                row.level(),
+                row.dayWeek(),
+                AttendanceExportWriter.text(row.startSchedule()),
+                AttendanceExportWriter.text(row.endSchedule()),
+                AttendanceExportWriter.text(row.studentId()),
+                row.studentName(),
+                row.cpf(),
+                row.status());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+
+    private void writeLine(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                this.writer.write(SEPARATOR);
+            }
+            this.writer.write(escape(values[i]));
+        }
+        this.writer.write("\r\n");
+    }
+
+    static String escape(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // A leading =, +, - or @ would be evaluated as a formula by the spreadsheet.
+        String safe = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (safe.indexOf(SEPARATOR) < 0 && safe.indexOf('"') < 0 && safe.indexOf('\n') < 0 && safe.indexOf('\r') < 0) {
+            return safe;
+        }
+        return '"' + safe.replace("\"", "\"\"") + '"';
+    }
+}
@@ -2,9 +2,15 @@ package br.com.ludus.checkin.service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -12,16 +18,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.com.ludus.checkin.dto.dancing.ClassStatusDto;
+import br.com.ludus.checkin.dto.dashboard.DashboardCounterEvent;
 import br.com.ludus.checkin.dto.dancing.DancingClassCreateDto;
+import br.com.ludus.checkin.dto.dancing.DancingClassDto;
+import br.com.ludus.checkin.dto.dancing.EnrollmentDto;
 import br.com.ludus.checkin.dto.dancing.EnrollmentItemDto;
+import br.com.ludus.checkin.dto.dancing.HowManyLessonsDto;
 import br.com.ludus.checkin.dto.dancing.ProgressClassDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassResultDto;
+import br.com.ludus.checkin.dto.dancing.RegisterStudentsResultDto;
 import br.com.ludus.checkin.enums.StatusDancingEnum;
 import br.com.ludus.checkin.model.DancingClass;
-import br.com.ludus.checkin.model.DancingClassEnrollment;
-import br.com.ludus.checkin.model.EnrollmentId;
+import br.com.ludus.checkin.model.DancingClassHeader;
 import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.repository.DancingClassEnrollmentRepository;
+import br.com.ludus.checkin.repository.DancingClassEnrollmentRepository.EnrollmentRole;
+import br.com.ludus.checkin.repository.DancingClassHeaderRepository;
 import br.com.ludus.checkin.repository.DancingClassRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.AllArgsConstructor;
 
 @Service
@@ -29,27 +43,56 @@ import lombok.AllArgsConstructor;
 public class DancingClassService {
 
     private final DancingClassRepository dancingClassRepository;
+    private final DancingClassHeaderRepository headerRepository;
     private final DancingClassEnrollmentRepository enrollmentRepository;
     private final StudentService studentService;
     private final BeatService beatService;
-    private final EntityManager entityManager;
+    private final LessonCalendar lessonCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public DancingClass create(DancingClassCreateDto dto) {
+    @Transactional(rollbackFor = Exception.class)
+    public DancingClassDto create(DancingClassCreateDto dto) {
         final var entity = dto.toEntity();
         final var beat = this.beatService.findById(dto.beatId());
         entity.setBeat(beat);
-        return this.dancingClassRepository.save(entity);
+        // Flushed so the row exists before the lessons are written through JDBC.
+        DancingClass saved = this.dancingClassRepository.saveAndFlush(entity);
+        this.lessonCalendar.materialize(saved);
+        this.eventPublisher.publishEvent(DashboardCounterEvent.classes(saved.getStatus(), 1));
+        return this.findDetail(saved.getId());
     }
 
-    public List<DancingClass> findAll(Pageable pageable, String level, String status, String dayWeek, String beatName) {
+    /** One query for the page of classes and one for all of their rosters, whatever the page size. */
+    @Transactional(readOnly = true)
+    public List<DancingClassDto> findAll(Pageable pageable, String level, String status, String dayWeek, String beatName) {
         if (level == null && status == null && dayWeek == null && beatName == null) {
             Pageable byId = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
-            return this.dancingClassRepository.findAllForList(byId).toList();
+            return this.withRosters(this.dancingClassRepository.findAllForList(byId).toList());
         }
-        return this.dancingClassRepository.findAllByFilters(pageable, level, status, dayWeek, beatName).toList();
+        return this.withRosters(this.dancingClassRepository.findAllByFilters(pageable, level, status, dayWeek, beatName).toList());
+    }
+
+    @Transactional(readOnly = true)
+    public DancingClassDto findDetail(Long id) {
+        final var dancingClass = this.dancingClassRepository.findDtoById(id).orElseThrow();
+        return this.withRosters(List.of(dancingClass)).get(0);
+    }
+
+    private List<DancingClassDto> withRosters(List<DancingClassDto> classes) {
+        if (classes.isEmpty()) {
+            return classes;
+        }
+        Map<Long, List<EnrollmentDto>> rosters = this.enrollmentRepository
+                .findRosters(classes.stream().map(DancingClassDto::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(enrollment -> enrollment.id().dancingClassId()));
+        return classes.stream()
+                .map(dancingClass -> dancingClass.withEnrollments(rosters.getOrDefault(dancingClass.id(), List.of())))
+                .toList();
     }
 
-    public List<DancingClass> findHowManyLessonsAreLeft() {
+    public List<HowManyLessonsDto> findHowManyLessonsAreLeft() {
         return this.dancingClassRepository.findHowManyLessonsAreLeft(StatusDancingEnum.IN_PROGRESS, LocalDate.now());
     }
 
@@ -57,59 +100,86 @@ public class DancingClassService {
         return this.dancingClassRepository.findById(id).orElseThrow();
     }
 
+    /** Beat, day and schedule of a class without its roster; answered from the second-level cache once warm. */
+    public DancingClassHeader findHeader(Long id) {
+        return this.headerRepository.findById(id).orElseThrow();
+    }
+
     public void delete(Long id) {
-        this.dancingClassRepository.deleteById(id);
+        this.dancingClassRepository.findById(id).ifPresent(dancingClass -> {
+            this.dancingClassRepository.deleteById(id);
+            // The bulk UPDATE only invalidates DancingClass's own region; the header maps the same row.
+            this.entityManagerFactory.getCache().evict(DancingClassHeader.class, id);
+            this.eventPublisher.publishEvent(DashboardCounterEvent.classes(dancingClass.getStatus(), -1));
+        });
     }
 
-    public DancingClass setArchived(Long id, boolean archived) {
+    public DancingClassDto setArchived(Long id, boolean archived) {
         DancingClass entity = this.findById(id);
         entity.setArchived(archived);
-        return this.dancingClassRepository.save(entity);
+        this.dancingClassRepository.save(entity);
+        return this.findDetail(id);
     }
 
-    public DancingClass registerStudents(Long dancingId, List<EnrollmentItemDto> enrollments) {
-        final var dancingClass = this.findById(dancingId);
-        if (dancingClass.getEnrollments() == null) {
-            dancingClass.setEnrollments(new ArrayList<>());
+    /**
+     * Enrolls students or changes their role with a fixed number of statements whatever the list size: one
+     * lookup of the students, one of their current roles in the class and one batched upsert. Ids that match
+     * no active student are skipped and reported.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public RegisterStudentsResultDto registerStudents(Long dancingId, List<EnrollmentItemDto> enrollments) {
+        if (dancingId == null || !this.dancingClassRepository.existsById(dancingId)) {
+            throw new IllegalArgumentException("Turma não encontrada.");
         }
-        for (EnrollmentItemDto dto : enrollments) {
-            Long studentId = dto.studentId();
-            String role = dto.role() != null && !dto.role().isBlank() ? dto.role() : "CONDUCTED";
-            EnrollmentId enrollmentId = new EnrollmentId(dancingId, studentId);
-
-            // findById usa apenas a PK; evita JOIN com Student e retorna o enrollment mesmo se o aluno estiver soft-deleted
-            DancingClassEnrollment existing = this.enrollmentRepository
-                    .findById(enrollmentId)
-                    .orElseGet(() -> findEnrollmentInCollection(dancingClass, studentId));
-
-            if (existing != null) {
-                existing.setRole(role);
-                existing.setStudent(this.studentService.findById(studentId));
-                this.enrollmentRepository.save(existing);
-            } else {
-                Student student = this.studentService.findById(studentId);
-                DancingClassEnrollment e = new DancingClassEnrollment();
-                e.setId(enrollmentId);
-                e.setDancingClass(dancingClass);
-                e.setStudent(student);
-                e.setRole(role);
-                this.enrollmentRepository.save(e);
+        Map<Long, String> requested = new LinkedHashMap<>();
+        for (EnrollmentItemDto dto : enrollments != null ? enrollments : List.<EnrollmentItemDto>of()) {
+            if (dto.studentId() != null) {
+                requested.put(dto.studentId(), dto.role() != null && !dto.role().isBlank() ? dto.role() : "CONDUCTED");
             }
         }
-        return this.findById(dancingId);
-    }
+        if (requested.isEmpty()) {
+            return new RegisterStudentsResultDto(dancingId, List.of(), List.of(), List.of(), List.of());
+        }
 
-    private DancingClassEnrollment findEnrollmentInCollection(DancingClass dancingClass, Long studentId) {
-        if (dancingClass.getEnrollments() == null) return null;
-        return dancingClass.getEnrollments().stream()
-                .filter(en -> en.getId() != null && studentId.equals(en.getId().getStudentId()))
-                .findFirst()
-                .orElse(null);
+        Set<Long> known = this.studentService.findAllById(List.copyOf(requested.keySet())).stream()
+                .map(Student::getId)
+                .collect(Collectors.toSet());
+        Map<Long, String> currentRoles = known.isEmpty()
+                ? Map.of()
+                : this.enrollmentRepository.findRoles(dancingId, known).stream()
+                        .collect(Collectors.toMap(EnrollmentRole::getStudentId, EnrollmentRole::getRole));
+
+        List<Long> added = new ArrayList<>();
+        List<Long> updated = new ArrayList<>();
+        List<Long> unchanged = new ArrayList<>();
+        List<Long> unknown = new ArrayList<>();
+        Map<Long, String> writes = new LinkedHashMap<>();
+        requested.forEach((studentId, role) -> {
+            if (!known.contains(studentId)) {
+                unknown.add(studentId);
+            } else if (!currentRoles.containsKey(studentId)) {
+                added.add(studentId);
+                writes.put(studentId, role);
+            } else if (!role.equals(currentRoles.get(studentId))) {
+                updated.add(studentId);
+                writes.put(studentId, role);
+            } else {
+                unchanged.add(studentId);
+            }
+        });
+        this.enrollmentRepository.upsertRoles(dancingId, writes);
+        if (!added.isEmpty()) {
+            this.eventPublisher.publishEvent(DashboardCounterEvent.enrollments(added.size()));
+        }
+        return new RegisterStudentsResultDto(dancingId, added, updated, unchanged, unknown);
     }
 
     public void removeStudentFromClass(Long dancingClassId, Long studentId) {
         this.enrollmentRepository.findByDancingClassIdAndStudentId(dancingClassId, studentId)
-                .ifPresent(this.enrollmentRepository::delete);
+                .ifPresent(enrollment -> {
+                    this.enrollmentRepository.delete(enrollment);
+                    this.eventPublisher.publishEvent(DashboardCounterEvent.enrollments(-1));
+                });
     }
 
     @Transactional(readOnly = true)
@@ -121,39 +191,50 @@ public class DancingClassService {
                 StatusDancingEnum.COMPLETED,
                 cutoff);
 
+        if (classes.isEmpty()) {
+            return List.of();
+        }
+        final var lastDay = classes.stream()
+                .map(DancingClass::getEndDate)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(today);
+        final var holidays = this.lessonCalendar.holidaysBetween(today, lastDay);
+
         return classes.stream()
-                .map(dc -> toClassStatusDto(dc, today))
+                .map(dc -> toClassStatusDto(dc, today, holidays))
                 .toList();
     }
 
-    private static ClassStatusDto toClassStatusDto(DancingClass dc, LocalDate today) {
+    private static ClassStatusDto toClassStatusDto(DancingClass dc, LocalDate today, Set<LocalDate> holidays) {
         final var name = dc.getBeat() != null ? dc.getBeat().getName() : "Turma";
         final var endDate = dc.getEndDate() != null ? dc.getEndDate() : today;
-        final int remainingLessons = countWeekdaysBetween(today, endDate,
-                dc.getDayWeek() != null ? dc.getDayWeek() : null);
+        final int remainingLessons = LessonCalendar.countLessons(today, endDate, dc.getDayWeek(), holidays);
         final var status = dc.getStatus() != null ? dc.getStatus().name() : StatusDancingEnum.IN_PROGRESS.name();
         final var dayWeek = dc.getDayWeek() != null ? dc.getDayWeek().name() : null;
         return new ClassStatusDto(dc.getId(), name, endDate, remainingLessons, status, dayWeek);
     }
 
-    /** Counts how many times the given weekday occurs between start (inclusive) and end (inclusive). */
-    private static int countWeekdaysBetween(LocalDate start, LocalDate end, java.time.DayOfWeek dayOfWeek) {
-        if (dayOfWeek == null || start.isAfter(end)) return 0;
-        int count = 0;
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            if (d.getDayOfWeek() == dayOfWeek) count++;
-        }
-        return count;
-    }
-
     /**
      * Progresses a class: finalizes the current one and creates a new class with the same
      * structure (beat, day, schedules) and new level/dates, replicating all enrollments.
      * Atomic operation; rolls back on any failure.
      */
     @Transactional(rollbackFor = Exception.class)
-    public DancingClass progressClass(Long classId, ProgressClassDto dto) {
-        DancingClass current = this.findById(classId);
+    public DancingClassDto progressClass(Long classId, ProgressClassDto dto) {
+        DancingClass current = this.dancingClassRepository.lockAllById(List.of(classId)).stream()
+                .findFirst()
+                .orElseThrow();
+        ProgressClassResultDto result = this.progress(current, dto);
+        return this.findDetail(result.newClassId());
+    }
+
+    /**
+     * Progression step shared with the term rollover; runs in the caller's transaction, with {@code current}
+     * locked by {@link DancingClassRepository#lockAllById}. Validation happens before any write, so an
+     * {@link IllegalStateException} or {@link IllegalArgumentException} leaves the transaction usable.
+     */
+    public ProgressClassResultDto progress(DancingClass current, ProgressClassDto dto) {
         if (current.getStatus() == StatusDancingEnum.COMPLETED || current.getStatus() == StatusDancingEnum.CANCELED) {
             throw new IllegalStateException("Turma já está finalizada ou cancelada e não pode ser progredida.");
         }
@@ -161,6 +242,7 @@ public class DancingClassService {
             throw new IllegalArgumentException("Data de fim deve ser posterior à data de início.");
         }
 
+        this.eventPublisher.publishEvent(DashboardCounterEvent.classMoved(current.getStatus(), StatusDancingEnum.COMPLETED));
         current.setStatus(StatusDancingEnum.COMPLETED);
         this.dancingClassRepository.save(current);
 
@@ -175,25 +257,16 @@ public class DancingClassService {
         newClass.setBeat(current.getBeat());
         newClass.setDeleted(false);
         newClass.setArchived(false);
-        newClass = this.dancingClassRepository.save(newClass);
-        final Long newClassId = newClass.getId();
-
-        List<DancingClassEnrollment> currentEnrollments = current.getEnrollments();
-        if (currentEnrollments != null && !currentEnrollments.isEmpty()) {
-            for (DancingClassEnrollment en : currentEnrollments) {
-                if (en.getStudent() == null) continue;
-                DancingClassEnrollment newEnrollment = new DancingClassEnrollment();
-                newEnrollment.setId(new EnrollmentId(newClassId, en.getStudent().getId()));
-                newEnrollment.setDancingClass(newClass);
-                newEnrollment.setStudent(en.getStudent());
-                newEnrollment.setRole(en.getRole() != null ? en.getRole() : "CONDUCTED");
-                this.enrollmentRepository.save(newEnrollment);
-            }
-        }
+        newClass = this.dancingClassRepository.saveAndFlush(newClass);
+        this.lessonCalendar.materialize(newClass);
+        this.eventPublisher.publishEvent(DashboardCounterEvent.classes(StatusDancingEnum.IN_PROGRESS, 1));
 
-        this.entityManager.flush();
-        this.entityManager.clear();
-        return this.findById(newClassId);
+        // The new class was flushed above, so the roster is copied in the database.
+        int copied = this.enrollmentRepository.copyEnrollments(current.getId(), newClass.getId());
+        if (copied > 0) {
+            this.eventPublisher.publishEvent(DashboardCounterEvent.enrollments(copied));
+        }
+        return new ProgressClassResultDto(current.getId(), newClass.getId(), copied, null);
     }
 
 }
@@ -0,0 +1,130 @@
+package br.com.ludus.checkin.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.ludus.checkin.dto.dashboard.DashboardCounterEvent;
+import br.com.ludus.checkin.dto.dashboard.DashboardStatsDto;
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+import br.com.ludus.checkin.enums.StatusDancingEnum;
+import br.com.ludus.checkin.repository.DancingClassRepository;
+import br.com.ludus.checkin.repository.StudentAttendanceRepository;
+import br.com.ludus.checkin.repository.StudentRepository;
+
+/**
+ * In-memory dashboard totals. Service writes publish {@link DashboardCounterEvent} deltas that are
+ * applied once their transaction commits, so reading the dashboard never touches the database. A
+ * periodic reconciliation recounts everything and overwrites the counters, correcting drift from
+ * writes that bypass the services or race with a previous reconciliation.
+ */
+@Component
+public class DashboardCounters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private final StudentRepository studentRepository;
+    private final DancingClassRepository dancingClassRepository;
+    private final StudentAttendanceRepository attendanceRepository;
+
+    private final AtomicLong students = new AtomicLong();
+    private final AtomicLong enrollments = new AtomicLong();
+    private final Map<StatusDancingEnum, AtomicLong> classes = new EnumMap<>(StatusDancingEnum.class);
+    private final AtomicLong present = new AtomicLong();
+    /** Not synchronized: reconcile() queries while holding it, which would pin a virtual thread's carrier. */
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile LocalDate presentDate;
+    private volatile boolean loaded;
+
+    public DashboardCounters(
+            final StudentRepository studentRepository,
+            final DancingClassRepository dancingClassRepository,
+            final StudentAttendanceRepository attendanceRepository) {
+        this.studentRepository = studentRepository;
+        this.dancingClassRepository = dancingClassRepository;
+        this.attendanceRepository = attendanceRepository;
+        for (StatusDancingEnum status : StatusDancingEnum.values()) {
+            classes.put(status, new AtomicLong());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(DashboardCounterEvent event) {
+        students.addAndGet(event.students());
+        enrollments.addAndGet(event.enrollments());
+        event.classes().forEach((status, delta) -> classes.get(status).addAndGet(delta));
+        if (event.present() != 0 && event.presentDate() != null && event.presentDate().equals(currentDay())) {
+            present.addAndGet(event.present());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        lock.lock();
+        try {
+            LocalDate today = LocalDate.now();
+            long studentCount = studentRepository.count();
+            long enrollmentCount = dancingClassRepository.countActiveEnrollments();
+            Map<StatusDancingEnum, Long> classCount = new EnumMap<>(StatusDancingEnum.class);
+            dancingClassRepository.countByStatus().forEach(row ->
+                    classCount.merge(DashboardCounterEvent.orInProgress(row.getStatus()), row.getTotal(), Long::sum));
+            long presentCount = attendanceRepository.countByAttendanceDateAndStatus(today, AttendanceStatusEnum.PRESENTE);
+
+            if (loaded && students.get() != studentCount) {
+                LOGGER.info("Dashboard counters drifted: {} students counted, {} tracked", studentCount, students.get());
+            }
+            students.set(studentCount);
+            enrollments.set(enrollmentCount);
+            classes.forEach((status, counter) -> counter.set(classCount.getOrDefault(status, 0L)));
+            presentDate = today;
+            present.set(presentCount);
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public DashboardStatsDto snapshot() {
+        if (!loaded) {
+            reconcile();
+        }
+        currentDay();
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long totalClasses = 0;
+        for (Map.Entry<StatusDancingEnum, AtomicLong> entry : classes.entrySet()) {
+            long count = entry.getValue().get();
+            byStatus.put(entry.getKey().name(), count);
+            totalClasses += count;
+        }
+        return new DashboardStatsDto(students.get(), totalClasses, enrollments.get(),
+                Collections.unmodifiableMap(byStatus), present.get());
+    }
+
+    /** Starts today's attendance from zero the first time the date changes. */
+    private LocalDate currentDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(presentDate)) {
+            lock.lock();
+            try {
+                if (!today.equals(presentDate)) {
+                    present.set(0);
+                    presentDate = today;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return today;
+    }
+}
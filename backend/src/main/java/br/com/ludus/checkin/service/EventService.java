@@ -1,16 +1,24 @@
 package br.com.ludus.checkin.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.com.ludus.checkin.dto.event.AddParticipantDto;
 import br.com.ludus.checkin.dto.event.EventCreateDto;
+import br.com.ludus.checkin.dto.event.EventDto;
+import br.com.ludus.checkin.dto.event.EventParticipantDto;
+import br.com.ludus.checkin.dto.event.EventSummaryDto;
+import br.com.ludus.checkin.dto.event.EventSummaryPageDto;
 import br.com.ludus.checkin.enums.EventStatusEnum;
 import br.com.ludus.checkin.model.Event;
 import br.com.ludus.checkin.model.EventParticipant;
-import br.com.ludus.checkin.model.EventParticipantId;
 import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.repository.EventParticipantRepository;
 import br.com.ludus.checkin.repository.EventRepository;
@@ -20,13 +28,89 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class EventService {
 
+    private static final int DEFAULT_SUMMARY_SIZE = 20;
+    private static final int MAX_SUMMARY_SIZE = 100;
+    private static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 12, 31);
+
     private final EventRepository eventRepository;
     private final EventParticipantRepository eventParticipantRepository;
     private final StudentService studentService;
 
+    /** Events and all of their participants in two queries. */
+    @Transactional(readOnly = true)
+    public List<EventDto> findAll() {
+        return withParticipants(eventRepository.findAllDtos());
+    }
+
+    /**
+     * Events page: filtered, newest first and chained by an opaque cursor holding the last row's
+     * {@code (eventDate, id)}. Participant counts and amounts paid are aggregated in SQL per page.
+     */
     @Transactional(readOnly = true)
-    public List<Event> findAll() {
-        return eventRepository.findAll();
+    public EventSummaryPageDto findSummaries(EventStatusEnum status, Boolean archived, LocalDate from, LocalDate to,
+            String cursor, Integer size) {
+        int limit = Math.min(size != null && size > 0 ? size : DEFAULT_SUMMARY_SIZE, MAX_SUMMARY_SIZE);
+        LocalDate fromDate = from != null ? from : FIRST_DAY;
+        LocalDate toDate = to != null ? to : LAST_DAY;
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior à data final.");
+        }
+
+        LocalDate afterDate = LAST_DAY.plusDays(1);
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split(":");
+                afterDate = LocalDate.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+        }
+
+        List<EventRepository.SummaryRow> rows = eventRepository.findSummaries(
+                status != null ? status.name() : "", archived == null, Boolean.TRUE.equals(archived),
+                fromDate, toDate, afterDate, afterId, limit + 1);
+        List<EventSummaryDto> content = rows.stream()
+                .limit(limit)
+                .map(EventService::toSummary)
+                .toList();
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            EventRepository.SummaryRow last = rows.get(limit - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.getEventDate() + ":" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new EventSummaryPageDto(content, nextCursor);
+    }
+
+    private static EventSummaryDto toSummary(EventRepository.SummaryRow row) {
+        Long remaining = row.getHasMaxParticipants()
+                ? Math.max(0L, row.getMaxParticipants() - row.getParticipantCount())
+                : null;
+        return new EventSummaryDto(row.getId(), row.getName(), row.getEventDate(), row.getEventTime(),
+                EventStatusEnum.valueOf(row.getStatus()), row.getArchived(), row.getHasMaxParticipants(),
+                row.getMaxParticipants(), row.getParticipantCount(), remaining, row.getTotalPaid());
+    }
+
+    @Transactional(readOnly = true)
+    public EventDto findDetail(Long id) {
+        return withParticipants(List.of(eventRepository.findDtoById(id).orElseThrow())).get(0);
+    }
+
+    private List<EventDto> withParticipants(List<EventDto> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        Map<Long, List<EventParticipantDto>> participants = eventParticipantRepository
+                .findDtosByEventIds(events.stream().map(EventDto::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(EventParticipantDto::eventId));
+        return events.stream()
+                .map(event -> event.withParticipants(participants.getOrDefault(event.id(), List.of())))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -35,13 +119,13 @@ public class EventService {
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Event create(EventCreateDto dto) {
-        Event entity = dto.toEntity();
-        return eventRepository.save(entity);
+    public EventDto create(EventCreateDto dto) {
+        Event entity = eventRepository.save(dto.toEntity());
+        return findDetail(entity.getId());
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Event update(Long id, EventCreateDto dto) {
+    public EventDto update(Long id, EventCreateDto dto) {
         Event entity = findById(id);
         entity.setName(dto.name());
         entity.setEventDate(dto.eventDate());
@@ -58,7 +142,8 @@ public class EventService {
         if (dto.status() != null) {
             entity.setStatus(dto.status());
         }
-        return eventRepository.save(entity);
+        eventRepository.save(entity);
+        return findDetail(id);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -69,10 +154,11 @@ public class EventService {
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Event setArchived(Long id, boolean archived) {
+    public EventDto setArchived(Long id, boolean archived) {
         Event entity = findById(id);
         entity.setArchived(archived);
-        return eventRepository.save(entity);
+        eventRepository.save(entity);
+        return findDetail(id);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -80,30 +166,26 @@ public class EventService {
         eventRepository.deleteById(id);
     }
 
-    /** Adiciona participante ao evento (aluno ou convidado externo). Impede duplicata para alunos e bloqueia se capacidade máxima ou evento finalizado. */
+    /**
+     * Adiciona participante ao evento (aluno ou convidado externo). Impede duplicata para alunos e bloqueia se
+     * capacidade máxima ou evento finalizado. A vaga é reservada por um único UPDATE condicional em
+     * {@code participant_count}; a lista de participantes não é carregada.
+     */
     @Transactional(rollbackFor = Exception.class)
-    public Event addParticipant(Long eventId, AddParticipantDto dto) {
-        Event event = findById(eventId);
-        if (event.getStatus() == EventStatusEnum.FINISHED) {
-            throw new IllegalStateException("Evento já finalizado. Não é possível inscrever participantes.");
-        }
-        if (Boolean.TRUE.equals(event.getHasMaxParticipants())) {
-            int current = event.getParticipants() != null ? event.getParticipants().size() : 0;
-            if (current >= event.getMaxParticipants()) {
-                throw new IllegalStateException("Evento atingiu a capacidade máxima de participantes.");
-            }
+    public EventDto addParticipant(Long eventId, AddParticipantDto dto) {
+        if (eventRepository.reserveSeat(eventId, EventStatusEnum.FINISHED) == 0) {
+            throw rejection(eventId);
         }
         Long studentId = dto.studentId();
         String externalName = dto.externalParticipantName();
 
-        if (studentId != null) {
-            if (eventParticipantRepository.findByEvent_IdAndStudent_Id(eventId, studentId).isPresent()) {
-                throw new IllegalStateException("Aluno já está inscrito neste evento.");
-            }
+        // The seat reservation holds the event row lock, so this check cannot race another sign-up.
+        if (studentId != null && eventParticipantRepository.existsByEvent_IdAndStudent_Id(eventId, studentId)) {
+            throw new IllegalStateException("Aluno já está inscrito neste evento.");
         }
 
         EventParticipant ep = new EventParticipant();
-        ep.setEvent(event);
+        ep.setEvent(eventRepository.getReferenceById(eventId));
         if (studentId != null) {
             Student student = studentService.findById(studentId);
             ep.setStudent(student);
@@ -114,18 +196,29 @@ public class EventService {
         }
         ep.setAmountPaid(dto.amountPaid());
         eventParticipantRepository.save(ep);
-        return findById(eventId);
+        return findDetail(eventId);
+    }
+
+    private IllegalStateException rejection(Long eventId) {
+        EventDto event = eventRepository.findDtoById(eventId).orElseThrow();
+        if (event.status() == EventStatusEnum.FINISHED) {
+            return new IllegalStateException("Evento já finalizado. Não é possível inscrever participantes.");
+        }
+        return new IllegalStateException("Evento atingiu a capacidade máxima de participantes.");
     }
 
     /** Remove aluno do evento. Permitido apenas se evento não estiver finalizado. */
     @Transactional(rollbackFor = Exception.class)
-    public Event removeParticipant(Long eventId, Long studentId) {
-        Event event = findById(eventId);
-        if (event.getStatus() == EventStatusEnum.FINISHED) {
+    public EventDto removeParticipant(Long eventId, Long studentId) {
+        EventDto event = eventRepository.findDtoById(eventId).orElseThrow();
+        if (event.status() == EventStatusEnum.FINISHED) {
             throw new IllegalStateException("Evento finalizado. Não é possível remover participantes.");
         }
         eventParticipantRepository.findByEvent_IdAndStudent_Id(eventId, studentId)
-                .ifPresent(eventParticipantRepository::delete);
-        return findById(eventId);
+                .ifPresent(participant -> {
+                    eventParticipantRepository.delete(participant);
+                    eventRepository.releaseSeat(eventId);
+                });
+        return findDetail(eventId);
     }
 }
@@ -0,0 +1,85 @@
+package br.com.ludus.checkin.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import br.com.ludus.checkin.model.DancingClass;
+import br.com.ludus.checkin.repository.HolidayRepository;
+import br.com.ludus.checkin.repository.LessonRepository;
+import lombok.AllArgsConstructor;
+
+/**
+ * Weekly lesson schedule of a class. Occurrences of the class weekday are computed arithmetically
+ * between its start and end dates, minus the days in the {@code holiday} table, and a whole term is
+ * written to {@code lesson} in one batch when the class is created or progressed.
+ */
+@Component
+@AllArgsConstructor
+public class LessonCalendar {
+
+    private final LessonRepository lessonRepository;
+    private final HolidayRepository holidayRepository;
+
+    /** Creates every lesson of the class's term that does not exist yet. Returns how many were created. */
+    public int materialize(DancingClass dancingClass) {
+        LocalDate start = dancingClass.getStartDate();
+        LocalDate end = dancingClass.getEndDate();
+        DayOfWeek dayOfWeek = dancingClass.getDayWeek();
+        if (start == null || end == null || dayOfWeek == null
+                || dancingClass.getStartSchedule() == null || dancingClass.getEndSchedule() == null) {
+            return 0;
+        }
+        Set<LocalDate> holidays = this.holidaysBetween(start, end);
+        List<LocalDate> days = occurrences(start, end, dayOfWeek)
+                .filter(day -> !holidays.contains(day))
+                .toList();
+        return this.lessonRepository.insertMissing(
+                dancingClass.getId(), days, dancingClass.getStartSchedule(), dancingClass.getEndSchedule());
+    }
+
+    public Set<LocalDate> holidaysBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return Set.of();
+        }
+        return new HashSet<>(this.holidayRepository.findDaysBetween(from, to));
+    }
+
+    /** Lessons between from and to (inclusive) on the given weekday, not counting the given holidays. */
+    public static int countLessons(LocalDate from, LocalDate to, DayOfWeek dayOfWeek, Collection<LocalDate> holidays) {
+        long count = countOccurrences(from, to, dayOfWeek);
+        if (count == 0) {
+            return 0;
+        }
+        long closed = holidays.stream()
+                .filter(day -> day.getDayOfWeek() == dayOfWeek && !day.isBefore(from) && !day.isAfter(to))
+                .count();
+        return (int) (count - closed);
+    }
+
+    /** How many times the weekday occurs between from and to, both inclusive. */
+    public static long countOccurrences(LocalDate from, LocalDate to, DayOfWeek dayOfWeek) {
+        if (dayOfWeek == null || from.isAfter(to)) {
+            return 0;
+        }
+        LocalDate first = from.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        if (first.isAfter(to)) {
+            return 0;
+        }
+        return ChronoUnit.WEEKS.between(first, to) + 1;
+    }
+
+    public static Stream<LocalDate> occurrences(LocalDate from, LocalDate to, DayOfWeek dayOfWeek) {
+        return Stream.iterate(from.with(TemporalAdjusters.nextOrSame(dayOfWeek)),
+                day -> !day.isAfter(to),
+                day -> day.plusWeeks(1));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import br.com.ludus.checkin.dto.lesson.LessonCreateDto;
+import br.com.ludus.checkin.dto.lesson.LessonDto;
 import br.com.ludus.checkin.model.Lesson;
 import br.com.ludus.checkin.repository.LessonRepository;
 import lombok.AllArgsConstructor;
@@ -18,19 +19,24 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final DancingClassService dancingClassService;
 
+    /**
+     * Adds a lesson outside the materialized calendar. A day the class already has keeps its lesson, which
+     * is returned as is, so posting a term day again is harmless.
+     */
     public Lesson create(LessonCreateDto dto) {
-        final var entity = dto.toEntity();
+        if (dto.day() == null || dto.startSchedule() == null || dto.endSchedule() == null) {
+            throw new IllegalArgumentException("Informe o dia e o horário da aula.");
+        }
         final var dance = this.dancingClassService.findById(dto.dancingClassId());
-        entity.setDancingClass(dance);
-        return this.lessonRepository.save(entity);
+        this.lessonRepository.insertMissing(dance.getId(), List.of(dto.day()), dto.startSchedule(), dto.endSchedule());
+        return this.lessonRepository.findByDancingClassIdAndDay(dance.getId(), dto.day()).orElseThrow();
     }
 
-    public int totalNumberOfClassesLeft(Long dancingId) {
-        final var result = this.lessonRepository.findAllByDancingClassIdAndDayGreaterThanEqual(dancingId, LocalDate.now());
-        return result.size();
+    public long totalNumberOfClassesLeft(Long dancingId) {
+        return this.lessonRepository.countByDancingClassIdAndDayGreaterThanEqual(dancingId, LocalDate.now());
     }
 
-    public List<Lesson> findAllByDancingClassId(Pageable pageable, Long dancingId) {
+    public List<LessonDto> findAllByDancingClassId(Pageable pageable, Long dancingId) {
         return this.lessonRepository.findAllByDancingClassId(pageable, dancingId).toList();
     }
 
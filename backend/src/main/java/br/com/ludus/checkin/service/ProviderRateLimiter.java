@@ -0,0 +1,50 @@
+package br.com.ludus.checkin.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spaces calls to the WhatsApp provider evenly so the outbox never exceeds the configured rate.
+ * Callers wait by sleeping, which only parks the virtual thread doing the send.
+ */
+@Component
+public class ProviderRateLimiter {
+
+    private final long intervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextSlotNanos = System.nanoTime();
+
+    public ProviderRateLimiter(@Value("${whatsapp.dispatch.rate-per-second:10}") final double ratePerSecond) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(ratePerSecond, 0.001));
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long slot = Math.max(nextSlotNanos, now);
+            nextSlotNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        } finally {
+            lock.unlock();
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /** Holds back every caller for the given time, e.g. after the provider answers 429. */
+    public void pause(Duration duration) {
+        lock.lock();
+        try {
+            nextSlotNanos = Math.max(nextSlotNanos, System.nanoTime() + duration.toNanos());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
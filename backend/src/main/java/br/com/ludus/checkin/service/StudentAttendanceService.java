@@ -1,22 +1,27 @@
 package br.com.ludus.checkin.service;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusChangeDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusDto;
 import br.com.ludus.checkin.dto.attendance.StudentAttendanceItemDto;
+import br.com.ludus.checkin.dto.attendance.UpdateAttendanceBatchDto;
 import br.com.ludus.checkin.dto.attendance.UpdateAttendanceDto;
-import br.com.ludus.checkin.dto.lesson.LessonCreateDto;
+import br.com.ludus.checkin.dto.dashboard.DashboardCounterEvent;
 import br.com.ludus.checkin.enums.AttendanceStatusEnum;
-import br.com.ludus.checkin.model.DancingClass;
-import br.com.ludus.checkin.model.DancingClassEnrollment;
 import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.model.StudentAttendance;
-import br.com.ludus.checkin.repository.DancingClassEnrollmentRepository;
 import br.com.ludus.checkin.repository.LessonRepository;
 import br.com.ludus.checkin.repository.StudentAttendanceRepository;
 import lombok.AllArgsConstructor;
@@ -25,33 +30,21 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class StudentAttendanceService {
 
-    private static final String PENDENTE = AttendanceStatusEnum.PENDENTE.name();
-
     private final StudentAttendanceRepository attendanceRepository;
-    private final DancingClassEnrollmentRepository enrollmentRepository;
     private final DancingClassService dancingClassService;
     private final StudentService studentService;
     private final LessonRepository lessonRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<StudentAttendanceItemDto> listByClassAndDate(Long classId, LocalDate attendanceDate) {
-        dancingClassService.findById(classId);
-
-        List<DancingClassEnrollment> enrollments = enrollmentRepository.findByDancingClassIdOrderByStudentName(classId);
-        List<StudentAttendance> attendances = attendanceRepository.findByClassIdAndAttendanceDate(classId, attendanceDate);
-        Map<Long, String> statusByStudentId = attendances.stream()
-                .collect(Collectors.toMap(sa -> sa.getStudent().getId(), sa -> sa.getStatus().name()));
-
-        return enrollments.stream()
-                .map(e -> {
-                    Long studentId = e.getStudent().getId();
-                    String status = statusByStudentId.getOrDefault(studentId, PENDENTE);
-                    return new StudentAttendanceItemDto(
-                            studentId,
-                            e.getStudent().getName(),
-                            e.getRole() != null ? e.getRole() : "CONDUCTED",
-                            status);
-                })
+        List<StudentAttendanceItemDto> rows = attendanceRepository.findSheetByClassIdAndAttendanceDate(classId, attendanceDate);
+        if (rows.isEmpty()) {
+            throw new NoSuchElementException("No value present");
+        }
+
+        return rows.stream()
+                .filter(row -> row.studentId() != null)
                 .toList();
     }
 
@@ -64,6 +57,7 @@ public class StudentAttendanceService {
         return attendanceRepository
                 .findByStudentIdAndClassIdAndAttendanceDate(dto.studentId(), dto.classId(), dto.attendanceDate())
                 .map(existing -> {
+                    publishPresentChange(dto.attendanceDate(), presentCount(existing.getStatus()), presentCount(status));
                     existing.setStatus(status);
                     return attendanceRepository.save(existing);
                 })
@@ -74,22 +68,63 @@ public class StudentAttendanceService {
                     sa.setDancingClass(dancingClassService.findById(dto.classId()));
                     sa.setAttendanceDate(dto.attendanceDate());
                     sa.setStatus(status);
+                    publishPresentChange(dto.attendanceDate(), 0, presentCount(status));
                     return attendanceRepository.save(sa);
                 });
     }
 
+    /**
+     * Records a whole class at once: the lesson is ensured once and every status is upserted in a single
+     * statement. A student repeated in the items keeps the last status given; one outside the class roster
+     * rejects the whole sheet. Returns the refreshed attendance sheet.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<StudentAttendanceItemDto> updateBatch(UpdateAttendanceBatchDto dto) {
+        if (dto == null || dto.classId() == null || dto.attendanceDate() == null) {
+            throw new IllegalArgumentException("Informe a turma e a data.");
+        }
+
+        Map<Long, AttendanceStatusEnum> statusByStudent = new LinkedHashMap<>();
+        for (AttendanceStatusDto item : Optional.ofNullable(dto.items()).orElse(List.of())) {
+            if (item == null || item.studentId() == null || item.status() == null) {
+                throw new IllegalArgumentException("Informe o aluno e o status de cada item.");
+            }
+            statusByStudent.put(item.studentId(), AttendanceStatusEnum.valueOf(item.status().trim().toUpperCase()));
+        }
+
+        if (!statusByStudent.isEmpty()) {
+            ensureLessonExists(dto.classId(), dto.attendanceDate());
+            List<AttendanceStatusChangeDto> recorded =
+                    attendanceRepository.upsertStatuses(dto.classId(), dto.attendanceDate(), statusByStudent);
+            if (recorded.size() != statusByStudent.size()) {
+                Set<Long> recordedIds = recorded.stream().map(AttendanceStatusChangeDto::studentId).collect(Collectors.toSet());
+                List<Long> notEnrolled = statusByStudent.keySet().stream()
+                        .filter(studentId -> !recordedIds.contains(studentId))
+                        .toList();
+                // Thrown inside the transaction, so the rows already written are rolled back with it.
+                throw new IllegalArgumentException("Alunos não matriculados na turma: " + notEnrolled);
+            }
+            long presentDelta = recorded.stream()
+                    .mapToLong(change -> presentCount(change.status()) - presentCount(change.previousStatus()))
+                    .sum();
+            publishPresentChange(dto.attendanceDate(), 0, presentDelta);
+        }
+
+        return listByClassAndDate(dto.classId(), dto.attendanceDate());
+    }
+
+    private static long presentCount(AttendanceStatusEnum status) {
+        return status == AttendanceStatusEnum.PRESENTE ? 1 : 0;
+    }
+
+    private void publishPresentChange(LocalDate attendanceDate, long before, long after) {
+        if (before != after) {
+            eventPublisher.publishEvent(DashboardCounterEvent.present(attendanceDate, after - before));
+        }
+    }
+
+    /** Terms are materialized up front; this only covers days outside the calendar, in one statement. */
     private void ensureLessonExists(Long classId, LocalDate attendanceDate) {
-        lessonRepository.findByDancingClassIdAndDay(classId, attendanceDate)
-                .orElseGet(() -> {
-                    DancingClass dancingClass = dancingClassService.findById(classId);
-                    LessonCreateDto dto = new LessonCreateDto(
-                            attendanceDate,
-                            dancingClass.getStartSchedule(),
-                            dancingClass.getEndSchedule(),
-                            classId);
-                    var lesson = dto.toEntity();
-                    lesson.setDancingClass(dancingClass);
-                    return lessonRepository.save(lesson);
-                });
+        lessonRepository.insertIfAbsent(classId, attendanceDate);
     }
 }
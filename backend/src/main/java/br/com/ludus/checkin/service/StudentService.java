@@ -1,11 +1,24 @@
 package br.com.ludus.checkin.service;
 
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
 import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.ludus.checkin.dto.dashboard.DashboardCounterEvent;
+import br.com.ludus.checkin.dto.student.StudentDto;
+import br.com.ludus.checkin.dto.student.StudentSearchItemDto;
+import br.com.ludus.checkin.dto.student.StudentSearchPageDto;
 import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.repository.StudentRepository;
 import lombok.AllArgsConstructor;
@@ -14,13 +27,64 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class StudentService {
 
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    private static final int MAX_SEARCH_SIZE = 50;
+    private static final int MAX_IMPORT_SIZE = 1000;
+    private static final Pattern DIGITS_ONLY = Pattern.compile("[\\d.\\-()/\\s]*\\d[\\d.\\-()/\\s]*");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
     private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Student create(Student entity) {
+        Student saved = this.studentRepository.save(prepareNew(entity));
+        this.eventPublisher.publishEvent(DashboardCounterEvent.students(1));
+        return saved;
+    }
+
+    /**
+     * Creates many students at once. Ids come from the pooled sequence and the inserts are flushed in
+     * JDBC batches, so a spreadsheet of students costs a handful of round trips instead of one each.
+     * CPFs repeated in the batch or already registered reject the whole import before anything is written.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Student> importStudents(List<Student> entities) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+        if (entities.size() > MAX_IMPORT_SIZE) {
+            throw new IllegalArgumentException("Importe no máximo " + MAX_IMPORT_SIZE + " alunos por vez.");
+        }
+        Set<String> cpfs = new HashSet<>();
+        for (Student entity : entities) {
+            prepareNew(entity);
+            if (entity.getCpf() != null && !cpfs.add(entity.getCpf())) {
+                throw new IllegalArgumentException("CPF repetido na importação: " + entity.getCpf());
+            }
+        }
+        if (!cpfs.isEmpty()) {
+            List<String> existing = this.studentRepository.findExistingCpfs(cpfs.toArray(String[]::new));
+            if (!existing.isEmpty()) {
+                throw new IllegalArgumentException("CPF já cadastrado: " + existing.stream().sorted().toList());
+            }
+        }
+        List<Student> saved = this.studentRepository.saveAll(entities);
+        this.eventPublisher.publishEvent(DashboardCounterEvent.students(saved.size()));
+        return saved;
+    }
+
+    private static Student prepareNew(Student entity) {
+        if (entity.getContact() == null || entity.getContact().isBlank()) {
+            throw new IllegalArgumentException("Informe o contato do aluno.");
+        }
         entity.setContact(entity.getContact().replaceAll("[.,(){}\\s\\[\\]\\-/]", ""));
-        entity.setCpf(entity.getCpf().replaceAll("[.,(){}\\s\\[\\]\\-/]", ""));
+        if (entity.getCpf() != null) {
+            String cpf = entity.getCpf().replaceAll("[.,(){}\\s\\[\\]\\-/]", "");
+            // An empty CPF is no CPF; stored as '' it would collide with the next one on the unique constraint.
+            entity.setCpf(cpf.isEmpty() ? null : cpf);
+        }
         entity.setEnrollmentDate(LocalDate.now());
-        return this.studentRepository.save(entity);
+        return entity;
     }
 
     public Student update(Student entity) {
@@ -30,19 +94,76 @@ public class StudentService {
         return this.studentRepository.save(entity);
     }
 
-    public List<Student> findAllStudents(Pageable pageable, String search) {
+    public List<StudentDto> findAllStudents(Pageable pageable, String search) {
         if (search == null || search.isBlank()) {
-            return this.studentRepository.findAll(pageable).toList();
+            return this.studentRepository.findAllBy(pageable).toList();
         }
         return this.studentRepository.findByNameContainingIgnoreCase(search, pageable).toList();
     }
     
-    public List<Student> findAllStudentsByDancingClass(Pageable pageable, Long id) {
+    /**
+     * Typeahead search over name, CPF and contact ranked by trigram word similarity. Pages are chained
+     * through an opaque cursor holding the last row's {@code (distance, id)}, so a page never re-reads
+     * the rows before it the way OFFSET does.
+     */
+    public StudentSearchPageDto search(String term, String cursor, Integer size) {
+        String normalized = normalizeTerm(term);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Informe o termo de busca.");
+        }
+        int limit = Math.min(size != null && size > 0 ? size : DEFAULT_SEARCH_SIZE, MAX_SEARCH_SIZE);
+
+        float afterDistance = -1f;
+        long afterId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split(":");
+                afterDistance = Float.parseFloat(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+        }
+
+        List<StudentRepository.SearchRow> rows = this.studentRepository.search(normalized, afterDistance, afterId, limit + 1);
+        List<StudentSearchItemDto> content = rows.stream()
+                .limit(limit)
+                .map(row -> new StudentSearchItemDto(
+                        row.getId(), row.getName(), row.getCpf(), row.getContact(), 1f - row.getDistance()))
+                .toList();
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            StudentRepository.SearchRow last = rows.get(limit - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.getDistance() + ":" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new StudentSearchPageDto(content, nextCursor);
+    }
+
+    /** Mirrors checkin.f_student_search_text: lower case without accents; digit-only terms lose their punctuation. */
+    private String normalizeTerm(String term) {
+        if (term == null) {
+            return "";
+        }
+        String trimmed = term.trim();
+        if (DIGITS_ONLY.matcher(trimmed).matches()) {
+            return trimmed.replaceAll("\\D", "");
+        }
+        return ACCENTS.matcher(Normalizer.normalize(trimmed, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ");
+    }
+
+    public List<StudentDto> findAllStudentsByDancingClass(Pageable pageable, Long id) {
         return this.studentRepository.findStudentsByDancingClassId(pageable, id).toList();
     }
 
     public void delete(Long id) {
-        this.studentRepository.deleteById(id);
+        if (this.studentRepository.existsById(id)) {
+            this.studentRepository.deleteById(id);
+            this.eventPublisher.publishEvent(DashboardCounterEvent.students(-1));
+        }
     }
 
     public Student findById(Long id) {
@@ -0,0 +1,49 @@
+package br.com.ludus.checkin.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import br.com.ludus.checkin.repository.TableVersionRepository;
+
+/**
+ * Entity tags derived from the per-table change counters kept by the database. Reading them is one
+ * indexed query, so an unchanged list can be answered without running the list query. Counters are read
+ * before the data, so a write committing in between yields a newer body under an older tag, which the
+ * next poll replaces; never the other way round.
+ */
+@Service
+public class TableVersionService {
+
+    private final TableVersionRepository tableVersionRepository;
+
+    /** The schema, and with it every counter, is recreated on boot; tags from an earlier run must not match. */
+    private final long bootEpoch = System.currentTimeMillis();
+
+    public TableVersionService(final TableVersionRepository tableVersionRepository) {
+        this.tableVersionRepository = tableVersionRepository;
+    }
+
+    /** Weak ETag for a response built from the given tables, or null when one of them is not tracked. */
+    @Transactional(readOnly = true)
+    public String etag(final String[] tables, final boolean dependsOnToday) {
+        final Map<String, Long> versions = new TreeMap<>();
+        this.tableVersionRepository.sumByTableName(Arrays.asList(tables))
+                .forEach(version -> versions.put(version.getTableName(), version.getVersion()));
+        if (versions.size() < tables.length) {
+            return null;
+        }
+        final var key = new StringBuilder().append(this.bootEpoch);
+        versions.forEach((table, version) -> key.append(';').append(table).append('=').append(version));
+        if (dependsOnToday) {
+            key.append(';').append(LocalDate.now());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.ludus.checkin.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates confirmation tokens and the SHA-256 hashes stored in their place. Digests are kept in a
+ * small pool instead of a thread-local so request handlers running on virtual threads reuse them too.
+ */
+@Component
+public class TokenCodec {
+
+    static final int TOKEN_BYTES = 16;
+    private static final int POOL_SIZE = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final SecureRandom random = new SecureRandom();
+    private final BlockingQueue<MessageDigest> digests = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /** 128 random bits, hex-encoded. Same length and alphabet as the UUID-based tokens it replaces. */
+    public String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return toHex(bytes);
+    }
+
+    public String hash(String token) {
+        MessageDigest digest = digests.poll();
+        if (digest == null) {
+            digest = newDigest();
+        }
+        try {
+            return toHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            digests.offer(digest);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            out[j++] = HEX[v >>> 4];
+            out[j++] = HEX[v & 0x0F];
+        }
+        return new String(out);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 não disponível", ex);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 
 import org.slf4j.Logger;
@@ -23,7 +24,12 @@ public class TwilioWhatsAppService implements WhatsAppService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwilioWhatsAppService.class);
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
 
     @Value("${whatsapp.twilio.account-sid}")
     private String accountSid;
@@ -49,11 +55,16 @@ public class TwilioWhatsAppService implements WhatsAppService {
                 .uri(URI.create("https://api.twilio.com/2010-04-01/Accounts/" + accountSid + "/Messages.json"))
                 .header("Authorization", basicAuth(accountSid, authToken))
                 .header("Content-Type", "application/x-www-form-urlencoded")
+                .timeout(REQUEST_TIMEOUT)
                 .POST(HttpRequest.BodyPublishers.ofString(form))
                 .build();
 
         try {
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                LOGGER.warn("Twilio throttling status={} body={}", response.statusCode(), response.body());
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Limite de envio do Twilio atingido.");
+            }
             if (response.statusCode() < 200 || response.statusCode() >= 300) {
                 LOGGER.error("Twilio error status={} body={}", response.statusCode(), response.body());
                 throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Falha ao enviar mensagem no Twilio.");
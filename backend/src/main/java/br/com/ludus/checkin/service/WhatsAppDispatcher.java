@@ -0,0 +1,104 @@
+package br.com.ludus.checkin.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.ludus.checkin.model.WhatsAppOutboxMessage;
+
+/**
+ * Delivers a claimed outbox batch concurrently. Each message runs on its own virtual thread, a
+ * semaphore caps how many provider calls are in flight and {@link ProviderRateLimiter} keeps the
+ * overall send rate within the provider limit.
+ */
+@Service
+public class WhatsAppDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WhatsAppDispatcher.class);
+
+    private final WhatsAppService whatsAppService;
+    private final WhatsAppOutboxService outboxService;
+    private final ProviderRateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration throttlePause;
+
+    @Autowired
+    public WhatsAppDispatcher(
+            final WhatsAppService whatsAppService,
+            final WhatsAppOutboxService outboxService,
+            final ProviderRateLimiter rateLimiter,
+            @Qualifier("whatsAppDispatchExecutor") final ExecutorService executor,
+            @Value("${whatsapp.dispatch.max-concurrency:8}") final int maxConcurrency,
+            @Value("${whatsapp.dispatch.throttle-pause-seconds:30}") final long throttlePauseSeconds) {
+        this.whatsAppService = whatsAppService;
+        this.outboxService = outboxService;
+        this.rateLimiter = rateLimiter;
+        this.executor = executor;
+        this.permits = new Semaphore(Math.max(maxConcurrency, 1));
+        this.throttlePause = Duration.ofSeconds(Math.max(throttlePauseSeconds, 1));
+    }
+
+    /** Sends every message of the batch and waits until each one has been marked sent or failed. */
+    public void deliverAll(List<WhatsAppOutboxMessage> batch) {
+        List<Future<?>> pending = new ArrayList<>(batch.size());
+        for (WhatsAppOutboxMessage message : batch) {
+            pending.add(executor.submit(() -> deliver(message)));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                LOGGER.error("Falha inesperada no envio de WhatsApp", ex.getCause());
+            }
+        }
+    }
+
+    private void deliver(WhatsAppOutboxMessage message) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            rateLimiter.acquire();
+            whatsAppService.sendMessage(message.getPhone(), message.getBody());
+            outboxService.markSent(message);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ResponseStatusException ex) {
+            if (ex.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimiter.pause(throttlePause);
+            }
+            fail(message, ex);
+        } catch (RuntimeException ex) {
+            fail(message, ex);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void fail(WhatsAppOutboxMessage message, RuntimeException ex) {
+        LOGGER.error("Falha ao enviar WhatsApp outboxId={} tentativa={} phone={}",
+                message.getId(), message.getAttempts(), message.getPhone(), ex);
+        outboxService.markFailed(message, ex.getMessage());
+    }
+}
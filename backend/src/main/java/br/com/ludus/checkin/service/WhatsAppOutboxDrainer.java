@@ -0,0 +1,70 @@
+package br.com.ludus.checkin.service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.ludus.checkin.dto.whatsapp.OutboxEnqueuedEvent;
+import br.com.ludus.checkin.model.WhatsAppOutboxMessage;
+
+/**
+ * Periodically claims due outbox rows and hands them to {@link WhatsAppDispatcher}. Several
+ * instances can run it at once: claiming uses {@code SKIP LOCKED}, so each row goes to one of them.
+ */
+@Component
+public class WhatsAppOutboxDrainer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WhatsAppOutboxDrainer.class);
+
+    private final WhatsAppOutboxService outboxService;
+    private final WhatsAppDispatcher dispatcher;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    @Autowired
+    public WhatsAppOutboxDrainer(
+            final WhatsAppOutboxService outboxService,
+            final WhatsAppDispatcher dispatcher,
+            @Qualifier("whatsAppDispatchExecutor") final ExecutorService executor,
+            @Value("${whatsapp.outbox.batch-size:50}") final int batchSize) {
+        this.outboxService = outboxService;
+        this.dispatcher = dispatcher;
+        this.executor = executor;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /** Starts draining as soon as new messages are committed instead of waiting for the next poll. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnqueued(OutboxEnqueuedEvent event) {
+        executor.execute(this::drain);
+    }
+
+    @Scheduled(fixedDelayString = "${whatsapp.outbox.poll-interval-ms:2000}")
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<WhatsAppOutboxMessage> batch;
+            do {
+                batch = outboxService.claimBatch(batchSize);
+                dispatcher.deliverAll(batch);
+            } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException ex) {
+            LOGGER.error("Falha ao processar outbox de WhatsApp", ex);
+        } finally {
+            draining.set(false);
+        }
+    }
+}
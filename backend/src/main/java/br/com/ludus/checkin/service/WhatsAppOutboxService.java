@@ -0,0 +1,131 @@
+package br.com.ludus.checkin.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.ludus.checkin.dto.whatsapp.OutboxEnqueuedEvent;
+import br.com.ludus.checkin.dto.whatsapp.WhatsAppMessageDto;
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
+import br.com.ludus.checkin.enums.OutboxStatusEnum;
+import br.com.ludus.checkin.model.WhatsAppOutboxMessage;
+import br.com.ludus.checkin.repository.AttendanceRequestRepository;
+import br.com.ludus.checkin.repository.WhatsAppOutboxRepository;
+
+/**
+ * Persistent queue of outgoing WhatsApp messages. Enqueueing joins the caller's transaction, so a
+ * message exists if and only if the data it refers to was committed.
+ */
+@Service
+public class WhatsAppOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final WhatsAppOutboxRepository outboxRepository;
+    private final AttendanceRequestRepository attendanceRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    @Autowired
+    public WhatsAppOutboxService(
+            final WhatsAppOutboxRepository outboxRepository,
+            final AttendanceRequestRepository attendanceRequestRepository,
+            final ApplicationEventPublisher eventPublisher,
+            @Value("${whatsapp.outbox.max-attempts:6}") final int maxAttempts,
+            @Value("${whatsapp.outbox.base-backoff-seconds:30}") final long baseBackoffSeconds,
+            @Value("${whatsapp.outbox.max-backoff-seconds:3600}") final long maxBackoffSeconds,
+            @Value("${whatsapp.outbox.lease-seconds:120}") final long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.attendanceRequestRepository = attendanceRequestRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.baseBackoff = Duration.ofSeconds(Math.max(baseBackoffSeconds, 1));
+        this.maxBackoff = Duration.ofSeconds(Math.max(maxBackoffSeconds, baseBackoffSeconds));
+        this.lease = Duration.ofSeconds(Math.max(leaseSeconds, 1));
+    }
+
+    /** Queues the messages, replacing any still-pending message for the same attendance requests. */
+    @Transactional(rollbackFor = Exception.class)
+    public void enqueue(List<WhatsAppMessageDto> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<Long> attendanceRequestIds = messages.stream()
+                .map(WhatsAppMessageDto::attendanceRequestId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!attendanceRequestIds.isEmpty()) {
+            outboxRepository.cancelPending(attendanceRequestIds, OutboxStatusEnum.PENDING, OutboxStatusEnum.CANCELED);
+        }
+
+        outboxRepository.insertPending(messages);
+        eventPublisher.publishEvent(new OutboxEnqueuedEvent(messages.size()));
+    }
+
+    /**
+     * Claims up to {@code batchSize} due messages for this instance. Claimed rows move to {@code SENDING}
+     * with a lease; if they are not completed before it expires they become due again.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<WhatsAppOutboxMessage> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WhatsAppOutboxMessage> due = outboxRepository.findDueForUpdate(now, batchSize);
+        for (WhatsAppOutboxMessage message : due) {
+            message.setStatus(OutboxStatusEnum.SENDING);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public void markSent(WhatsAppOutboxMessage message) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = outboxRepository.completeAttempt(message.getId(), message.getAttempts(),
+                OutboxStatusEnum.SENDING, OutboxStatusEnum.SENT, now, now, null);
+        if (updated > 0 && message.getAttendanceRequestId() != null) {
+            attendanceRequestRepository.updateDeliveryStatus(message.getAttendanceRequestId(), DeliveryStatusEnum.SENT, now);
+        }
+    }
+
+    /** Schedules a retry with exponential backoff, or gives up once {@code max-attempts} is reached. */
+    @Transactional(rollbackFor = Exception.class)
+    public void markFailed(WhatsAppOutboxMessage message, String error) {
+        boolean exhausted = message.getAttempts() >= maxAttempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(message.getAttempts()));
+        int updated = outboxRepository.completeAttempt(message.getId(), message.getAttempts(),
+                OutboxStatusEnum.SENDING,
+                exhausted ? OutboxStatusEnum.FAILED : OutboxStatusEnum.PENDING,
+                null,
+                nextAttemptAt,
+                truncate(error));
+        if (updated > 0 && exhausted && message.getAttendanceRequestId() != null) {
+            attendanceRequestRepository.updateDeliveryStatus(message.getAttendanceRequestId(), DeliveryStatusEnum.FAILED, null);
+        }
+    }
+
+    /** {@code base * 2^(attempts - 1)}, capped at {@code max-backoff-seconds}. */
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = baseBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.ludus.checkin.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import br.com.ludus.checkin.dto.attendance.AttendanceHistoryRowDto;
+
+/**
+ * Smallest valid SpreadsheetML package: the fixed parts are written up front and the single worksheet
+ * is streamed row by row with inline strings, so no shared-string table or row buffer is kept in memory.
+ */
+class XlsxAttendanceExportWriter implements AttendanceExportWriter {
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Presenças" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final String WORKBOOK_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+            Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private static final String SHEET_START = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+
+    XlsxAttendanceExportWriter(OutputStream out) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.sheet = new BufferedWriter(new OutputStreamWriter(this.zip, StandardCharsets.UTF_8));
+        this.part("[Content_Types].xml", CONTENT_TYPES);
+        this.part("_rels/.rels", ROOT_RELS);
+        this.part("xl/workbook.xml", WORKBOOK);
+        this.part("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+
+        this.zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        this.sheet.write(SHEET_START);
+        this.sheet.write("<row>");
+        for (String title : HEADER) {
+            this.textCell(title);
+        }
+        this.sheet.write("</row>");
+    }
+
+    @Override
+    public void write(AttendanceHistoryRowDto row) throws IOException {
+        this.sheet.write("<row>");
+        this.textCell(AttendanceExportWriter.text(row.attendanceDate()));
+        this.numberCell(row.classId());
+        this.textCell(row.beat());
+        this.textCell(row.level());
+        this.textCell(row.dayWeek());
+        this.textCell(AttendanceExportWriter.text(row.startSchedule()));
+        this.textCell(AttendanceExportWriter.text(row.endSchedule()));
+        this.numberCell(row.studentId());
+        this.textCell(row.studentName());
+        this.textCell(row.cpf());
+        this.textCell(row.status());
+        this.sheet.write("</row>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.sheet.write(SHEET_END);
+        this.sheet.flush();
+        this.zip.closeEntry();
+        this.zip.close();
+    }
+
+    private void part(String name, String content) throws IOException {
+        this.zip.putNextEntry(new ZipEntry(name));
+        this.zip.write(content.getBytes(StandardCharsets.UTF_8));
+        this.zip.closeEntry();
+    }
+
+    private void textCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            this.sheet.write("<c/>");
+            return;
+        }
+        this.sheet.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        this.sheet.write(escape(value));
+        this.sheet.write("</t></is></c>");
+    }
+
+    private void numberCell(Long value) throws IOException {
+        if (value == null) {
+            this.sheet.write("<c/>");
+            return;
+        }
+        this.sheet.write("<c><v>");
+        this.sheet.write(value.toString());
+        this.sheet.write("</v></c>");
+    }
+
+    static String escape(String value) {
+        var escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                default -> {
+                    // Control characters other than tab and line breaks are not allowed in XML 1.0.
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -2,6 +2,19 @@ drop schema if exists checkin cascade;
 
 create schema checkin;
 
+create extension if not exists pg_trgm with schema checkin;
+create extension if not exists unaccent with schema checkin;
+
+-- unaccent() is only STABLE; pinning the dictionary makes it usable in indexes and generated columns.
+create function checkin.f_unaccent(text) returns text
+    language sql immutable parallel safe strict
+    as $$ select checkin.unaccent('checkin.unaccent'::regdictionary, $1) $$;
+
+-- Text matched by the student search: accent-free lower-case name followed by CPF and contact.
+create function checkin.f_student_search_text(name text, cpf text, contact text) returns text
+    language sql immutable parallel safe
+    as $$ select lower(checkin.f_unaccent(coalesce(name, ''))) || ' ' || coalesce(cpf, '') || ' ' || coalesce(contact, '') $$;
+
 -- create table checkin.audit (
 --     id bigserial primary key,
 --     create_at timestamp not null,
@@ -19,10 +32,22 @@ create table checkin.users (
     account_non_locked boolean not null,
     credentials_non_expired boolean not null,
     enabled boolean not null,
+    token_epoch int not null default 0,
     password varchar(255) not null unique,
     user_name varchar(255) not null unique
 );
 
+create table checkin.refresh_token (
+    id bigserial primary key,
+    user_id bigint not null,
+    family_id uuid not null,
+    token_hash varchar(64) not null unique,
+    issued_at timestamp not null,
+    expires_at timestamp not null,
+    rotated_at timestamp,
+    revoked_at timestamp
+);
+
 create table checkin.user_permission (
     id_permission bigint not null,
     id_user bigint not null,
@@ -38,7 +63,8 @@ create table checkin.student (
     is_active boolean not null,
     is_deleted boolean not null default false,
     enrollment_date date not null,
-    date_birth date
+    date_birth date,
+    search_text text generated always as (checkin.f_student_search_text(name, cpf, contact)) stored
 );
 
 create table checkin.dancing_class (
@@ -77,6 +103,11 @@ create table checkin.lesson (
     dancing_class bigint not null
 );
 
+create table checkin.holiday (
+    day date primary key,
+    description varchar(255) not null
+);
+
 create table checkin.student_attendance (
     id bigserial primary key,
     student_id bigint not null,
@@ -96,12 +127,31 @@ create table checkin.attendance_request (
     date date not null,
     status varchar(20) not null,
     responded_at timestamp,
+    delivery_status varchar(20) not null default 'QUEUED',
+    delivered_at timestamp,
     expires_at timestamp not null,
     created_at timestamp not null default current_timestamp,
     updated_at timestamp not null default current_timestamp,
     constraint uq_attendance_request_class_student_date unique (class_id, student_id, date)
 );
 
+create table checkin.whatsapp_outbox (
+    id bigserial primary key,
+    attendance_request_id bigint,
+    phone varchar(30) not null,
+    body text not null,
+    status varchar(20) not null, -- PENDING, SENDING, SENT, FAILED, CANCELED
+    attempts int not null default 0,
+    next_attempt_at timestamp not null,
+    last_error varchar(500),
+    sent_at timestamp,
+    created_at timestamp not null default current_timestamp,
+    updated_at timestamp not null default current_timestamp
+);
+
+create index ix_whatsapp_outbox_due on checkin.whatsapp_outbox (next_attempt_at) where status in ('PENDING', 'SENDING');
+create index ix_whatsapp_outbox_attendance_request on checkin.whatsapp_outbox (attendance_request_id);
+
 create table checkin.participation (
     id bigserial primary key,
     confirmed boolean not null,
@@ -117,6 +167,7 @@ create table checkin.event (
     event_time time not null,
     has_max_participants boolean not null default true,
     max_participants int not null default 0,
+    participant_count int not null default 0,
     status varchar(50) not null default 'IN_PROGRESS',
     is_deleted boolean not null default false,
     is_archived boolean not null default false
@@ -132,6 +183,7 @@ create table checkin.event_participant (
 
 alter table checkin.user_permission add constraint fk_permission_user_permission foreign key (id_permission) references checkin.permission;
 alter table checkin.user_permission add constraint fk_user_user_permission foreign key (id_user) references checkin.users;
+alter table checkin.refresh_token add constraint fk_refresh_token_user foreign key (user_id) references checkin.users;
 alter table checkin.dancing_class add constraint fk_beat_dancing_class foreign key (beat) references checkin.beat;
 alter table checkin.dancing_class_student add constraint fk_dancing_class_student_student foreign key (id_student) references checkin.student;
 alter table checkin.dancing_class_student add constraint fk_dancing_class_student_dancing foreign key (id_dancing_class) references checkin.dancing_class;
@@ -142,11 +194,93 @@ alter table checkin.student_attendance add constraint fk_student_attendance_stud
 alter table checkin.student_attendance add constraint fk_student_attendance_class foreign key (class_id) references checkin.dancing_class;
 alter table checkin.attendance_request add constraint fk_attendance_request_class foreign key (class_id) references checkin.dancing_class;
 alter table checkin.attendance_request add constraint fk_attendance_request_student foreign key (student_id) references checkin.student;
+alter table checkin.whatsapp_outbox add constraint fk_whatsapp_outbox_attendance_request foreign key (attendance_request_id) references checkin.attendance_request;
 alter table checkin.event_participant add constraint fk_event_participant_event foreign key (id_event) references checkin.event;
 alter table checkin.event_participant add constraint fk_event_participant_student foreign key (id_student) references checkin.student;
 
+-- Secondary indexes, one per repository access path. Partial indexes repeat the @SQLRestriction
+-- filter (is_deleted = false) so the planner can match them against the generated SQL.
+create index ix_permission_description on checkin.permission (description);
+create index ix_refresh_token_family on checkin.refresh_token (family_id) where revoked_at is null;
+create index ix_refresh_token_user on checkin.refresh_token (user_id) where revoked_at is null;
+create index ix_refresh_token_revoked_at on checkin.refresh_token (revoked_at) where revoked_at is not null;
+create index ix_refresh_token_expires_at on checkin.refresh_token (expires_at);
+create index ix_user_permission_user on checkin.user_permission (id_user);
+create index ix_student_name_trgm on checkin.student using gin (upper(name) gin_trgm_ops) where is_deleted = false;
+create index ix_student_search_text_trgm on checkin.student using gist (search_text gist_trgm_ops) where is_deleted = false;
+create index ix_dancing_class_status_end_date on checkin.dancing_class (status, end_date) where is_deleted = false;
+create index ix_dancing_class_beat on checkin.dancing_class (beat);
+create index ix_dancing_class_student_student on checkin.dancing_class_student (id_student);
+-- One live lesson per class and day; the calendar inserts against it with ON CONFLICT DO NOTHING.
+create unique index ux_lesson_dancing_class_day on checkin.lesson (dancing_class, day) where is_deleted = false;
+create index ix_participation_lesson on checkin.participation (lesson) where is_deleted = false;
+create index ix_participation_student on checkin.participation (student) where is_deleted = false;
+create index ix_student_attendance_class_date on checkin.student_attendance (class_id, attendance_date);
+create index ix_student_attendance_date_status on checkin.student_attendance (attendance_date, status);
+create index ix_attendance_request_student on checkin.attendance_request (student_id);
+-- A student signs up once per event; external guests (null id_student) are not constrained.
+create unique index ux_event_participant_event_student on checkin.event_participant (id_event, id_student);
+create index ix_event_participant_student on checkin.event_participant (id_student);
+create index ix_event_date_id on checkin.event (event_date desc, id desc) where is_deleted = false;
+
 INSERT INTO checkin.users (user_name, password, account_non_expired, account_non_locked, credentials_non_expired, enabled) 
 VALUES ('adm', '$2a$10$PqsrFKSSRev9lL0BMAE.IOvDB4r6plBA7c45UDzz4v0Wu1Es9XMs.', true, true, true, true);
 
 INSERT INTO checkin.beat (name, is_deleted) VALUES
 ('SERTANEJO', false), ('FORRÓ', false), ('BACHATA', false), ('BOLERO', false), ('SAMBA DE GAFIEIRA', false), ('ZOUK', false);
+
+-- Hibernate takes ids in blocks of 50 (pooled-lo), so the sequences of the tables it inserts into step by
+-- 50. Altered after the seed rows so those keep ids 1..n. A DEFAULT nextval insert consumes a whole block
+-- and can never land inside a block Hibernate holds.
+alter sequence checkin.permission_id_seq increment by 50;
+alter sequence checkin.users_id_seq increment by 50;
+alter sequence checkin.refresh_token_id_seq increment by 50;
+alter sequence checkin.student_id_seq increment by 50;
+alter sequence checkin.dancing_class_id_seq increment by 50;
+alter sequence checkin.beat_id_seq increment by 50;
+alter sequence checkin.lesson_id_seq increment by 50;
+alter sequence checkin.student_attendance_id_seq increment by 50;
+alter sequence checkin.participation_id_seq increment by 50;
+alter sequence checkin.event_id_seq increment by 50;
+alter sequence checkin.event_participant_id_seq increment by 50;
+
+-- Change counters behind the ETags of the list endpoints (@ConditionalGet). Every write statement on a
+-- tracked table adds 1 to one of that table's rows, and the table's version is the sum of them. The trigger
+-- takes a row no other transaction holds, or adds a row when all are held, so writers never queue on it and
+-- two transactions touching tables in different orders cannot deadlock here.
+create table checkin.table_version (
+    id bigserial primary key,
+    table_name varchar(63) not null,
+    version bigint not null default 0
+);
+
+create index ix_table_version_table_name on checkin.table_version (table_name);
+
+-- Single-quoted body: the script runner splits on ';' and only skips quoted text, not $$ blocks.
+create function checkin.f_bump_table_version() returns trigger
+    language plpgsql
+    as '
+begin
+    update checkin.table_version set version = version + 1
+    where id = (select id from checkin.table_version where table_name = TG_TABLE_NAME limit 1 for update skip locked);
+    if not found then
+        insert into checkin.table_version (table_name, version) values (TG_TABLE_NAME, 1);
+    end if;
+    return null;
+end';
+
+insert into checkin.table_version (table_name)
+values ('student'), ('dancing_class'), ('dancing_class_student'), ('beat'), ('lesson'), ('holiday');
+
+create trigger tr_student_version after insert or update or delete or truncate on checkin.student
+    for each statement execute function checkin.f_bump_table_version();
+create trigger tr_dancing_class_version after insert or update or delete or truncate on checkin.dancing_class
+    for each statement execute function checkin.f_bump_table_version();
+create trigger tr_dancing_class_student_version after insert or update or delete or truncate on checkin.dancing_class_student
+    for each statement execute function checkin.f_bump_table_version();
+create trigger tr_beat_version after insert or update or delete or truncate on checkin.beat
+    for each statement execute function checkin.f_bump_table_version();
+create trigger tr_lesson_version after insert or update or delete or truncate on checkin.lesson
+    for each statement execute function checkin.f_bump_table_version();
+create trigger tr_holiday_version after insert or update or delete or truncate on checkin.holiday
+    for each statement execute function checkin.f_bump_table_version();
@@ -0,0 +1,28 @@
+package br.com.ludus.checkin;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/** Replaces the configured database with a throwaway embedded Postgres; schema-all.sql runs on startup as usual. */
+@TestConfiguration
+public class EmbeddedPostgresConfig {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.start();
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(EmbeddedPostgres postgres) {
+        return postgres.getDatabase("postgres", "postgres", Map.of("currentSchema", "checkin"));
+    }
+}
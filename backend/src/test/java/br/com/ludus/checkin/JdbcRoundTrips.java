@@ -0,0 +1,93 @@
+package br.com.ludus.checkin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps a {@link DataSource} and records every statement execution, whether it comes from Hibernate or
+ * from a {@code JdbcTemplate}. A JDBC batch is a single entry, since it reaches the server in one call.
+ * Like {@link SqlRecorder}, reads are filtered by thread.
+ */
+public final class JdbcRoundTrips {
+
+    private record Recorded(Thread thread, String sql) {
+    }
+
+    private static final Queue<Recorded> EXECUTIONS = new ConcurrentLinkedQueue<>();
+
+    private JdbcRoundTrips() {
+    }
+
+    public static DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? connection(connection) : result;
+        });
+    }
+
+    public static void clear() {
+        EXECUTIONS.clear();
+    }
+
+    /** Statements the calling thread sent since the last {@link #clear()}; batches are prefixed with {@code [batch]}. */
+    public static List<String> executions() {
+        Thread current = Thread.currentThread();
+        return EXECUTIONS.stream()
+                .filter(recorded -> recorded.thread() == current)
+                .map(Recorded::sql)
+                .toList();
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            String preparedSql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+            if (result instanceof CallableStatement statement) {
+                return statement(CallableStatement.class, statement, preparedSql);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return statement(PreparedStatement.class, statement, preparedSql);
+            }
+            if (result instanceof Statement statement) {
+                return statement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, S target, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                EXECUTIONS.add(new Recorded(Thread.currentThread(),
+                        method.getName().equals("executeBatch") ? "[batch] " + sql : sql));
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JdbcRoundTrips.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.ludus.checkin;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every statement Hibernate prepares. Register it through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}; reads are filtered by
+ * thread so scheduled jobs running alongside a test do not leak into its numbers.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private record Recorded(Thread thread, String sql) {
+    }
+
+    private static final Queue<Recorded> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(new Recorded(Thread.currentThread(), sql));
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /** Statements issued by the calling thread since the last {@link #clear()}. */
+    public static List<String> statements() {
+        Thread current = Thread.currentThread();
+        return STATEMENTS.stream()
+                .filter(recorded -> recorded.thread() == current)
+                .map(Recorded::sql)
+                .toList();
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.ludus.checkin.configuration.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class DatabaseBulkheadFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** Pool of 3 with 2 reserved: a single request at a time, and nobody waits. */
+    private final DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(true, 3, 2, 4, 0, 0, meterRegistry);
+
+    @Test
+    void requestBeyondThePoolIsRejectedUntilAPermitIsReleased() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch leave = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(request("/student"), new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        inside.countDown();
+                        try {
+                            leave.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = perform("/student");
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("Servidor ocupado"));
+        assertEquals(1, meterRegistry.get("bulkhead.rejected").counter().count());
+
+        leave.countDown();
+        holder.join();
+
+        assertEquals(200, perform("/student").getStatus());
+    }
+
+    @Test
+    void asyncRequestHoldsItsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest export = request("/student-attendance/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+
+        assertEquals(503, perform("/student").getStatus());
+
+        export.getAsyncContext().complete();
+
+        assertEquals(200, perform("/student").getStatus());
+    }
+
+    @Test
+    void actuatorIsServedWhenThePermitsAreTaken() throws Exception {
+        MockHttpServletRequest export = request("/student-attendance/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+
+        assertEquals(200, perform("/actuator/health").getStatus());
+    }
+
+    @Test
+    void rolloverTakesOnePermitPerWorker() throws Exception {
+        // Pool of 6 with 2 reserved leaves 4 permits; a rollover with 3 workers takes 3 of them.
+        DatabaseBulkheadFilter weighted = new DatabaseBulkheadFilter(true, 6, 2, 3, 0, 0, new SimpleMeterRegistry());
+        MockHttpServletRequest rollover = request("/dancing-class/progress");
+        rollover.setMethod("POST");
+        rollover.setAsyncSupported(true);
+        weighted.doFilter(rollover, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+
+        MockHttpServletRequest second = request("/dancing-class/progress");
+        second.setMethod("POST");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        weighted.doFilter(second, rejected, new MockFilterChain());
+        assertEquals(503, rejected.getStatus());
+
+        MockHttpServletResponse single = new MockHttpServletResponse();
+        weighted.doFilter(request("/student"), single, new MockFilterChain());
+        assertEquals(200, single.getStatus());
+
+        rollover.getAsyncContext().complete();
+
+        MockHttpServletRequest retried = request("/dancing-class/progress");
+        retried.setMethod("POST");
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        weighted.doFilter(retried, admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+    }
+
+    private MockHttpServletResponse perform(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        return request;
+    }
+}
@@ -0,0 +1,273 @@
+package br.com.ludus.checkin.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.ludus.checkin.service.AttendanceConfirmationService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Mixed workload against a running server: a few coordinators sending today's confirmations while
+ * hundreds of students open and answer their links. Not part of the regular build; run it with
+ * {@code mvn -Pload test}, which executes it once on virtual threads and once on the platform pool and
+ * prints throughput, latency percentiles and bulkhead rejections for each.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "whatsapp.outbox.poll-interval-ms=3600000",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "logging.level.br.com.ludus.checkin.service.NoopWhatsAppService=WARN"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AttendanceLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("token=([A-Za-z0-9_-]+)");
+    private static final long CONFIRM_CLASS = 9_100;
+    private static final long FIRST_SEND_CLASS = 9_001;
+
+    @TestConfiguration
+    static class PooledEmbeddedPostgres {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().setServerConfig("max_connections", "300").start();
+        }
+
+        /** Pooled like production, so the bulkhead and Hikari see the same limit. */
+        @Bean
+        @Primary
+        DataSource dataSource(EmbeddedPostgres postgres,
+                @Value("${spring.datasource.hikari.maximum-pool-size}") int poolSize) {
+            HikariConfig config = new HikariConfig();
+            config.setDataSource(postgres.getDatabase("postgres", "postgres", Map.of("currentSchema", "checkin")));
+            config.setMaximumPoolSize(poolSize);
+            return new HikariDataSource(config);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AttendanceConfirmationService attendanceConfirmationService;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Value("${load.duration-seconds:20}")
+    private int durationSeconds;
+
+    @Value("${load.senders:4}")
+    private int senders;
+
+    @Value("${load.confirmers:200}")
+    private int confirmers;
+
+    @Value("${load.students:2000}")
+    private int students;
+
+    @Test
+    void mixedSendAndConfirmWorkload() throws Exception {
+        seed();
+        attendanceConfirmationService.sendRequestsForToday(CONFIRM_CLASS);
+        List<String> tokens = new JdbcTemplate(dataSource).queryForList("SELECT body FROM whatsapp_outbox", String.class)
+                .stream()
+                .map(TOKEN::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .toList();
+        assertEquals(students, tokens.size());
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String authorization = login(client);
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<Future<Stats>> results = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int n = 0; n < senders; n++) {
+                long classId = FIRST_SEND_CLASS + n;
+                results.add(clients.submit(() -> run(deadline, stats -> stats.record("send", client.send(
+                        post("/student-attendance/confirmations/send", "{\"classId\":" + classId + "}")
+                                .header(HttpHeaders.AUTHORIZATION, authorization).build(),
+                        HttpResponse.BodyHandlers.discarding())))));
+            }
+            for (int n = 0; n < confirmers; n++) {
+                results.add(clients.submit(() -> run(deadline, stats -> {
+                    String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+                    if (ThreadLocalRandom.current().nextInt(10) < 6) {
+                        stats.record("confirm", client.send(
+                                HttpRequest.newBuilder(uri("/attendance/confirm?token=" + token)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding()));
+                    } else {
+                        stats.record("respond", client.send(
+                                post("/attendance/respond", "{\"token\":\"" + token + "\",\"status\":\"PRESENT\"}").build(),
+                                HttpResponse.BodyHandlers.discarding()));
+                    }
+                })));
+            }
+        }
+
+        Stats total = new Stats();
+        for (Future<Stats> result : results) {
+            total.merge(result.get());
+        }
+        total.print(virtualThreads ? "virtual threads" : "platform threads", durationSeconds);
+
+        assertTrue(total.count("send", 200) > 0, total::toString);
+        assertTrue(total.count("confirm", 200) > 0, total::toString);
+        // 409 is a link answered twice, 503 the bulkhead turning away what the pool cannot serve.
+        assertEquals(0, total.unexpected(), total::toString);
+    }
+
+    private void seed() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        int perSendClass = 30;
+        int totalStudents = students + senders * perSendClass;
+        jdbc.update("""
+                INSERT INTO student (id, name, contact, cpf, is_active, enrollment_date)
+                SELECT 100000 + n, 'Aluno carga ' || n, lpad(n::text, 11, '9'), lpad(n::text, 11, '0'), true, current_date
+                FROM generate_series(1, ?) n
+                """, totalStudents);
+        jdbc.update("""
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                SELECT id, 'BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date - 30, current_date + 60, 1
+                FROM (SELECT ?::bigint AS id UNION ALL SELECT ?::bigint + n FROM generate_series(0, ? - 1) n) classes
+                """, CONFIRM_CLASS, FIRST_SEND_CLASS, senders);
+        jdbc.update("""
+                INSERT INTO dancing_class_student (id_dancing_class, id_student)
+                SELECT CASE WHEN n <= ? THEN ?::bigint ELSE ?::bigint + (n - ? - 1) / ? END, 100000 + n
+                FROM generate_series(1, ?) n
+                """, students, CONFIRM_CLASS, FIRST_SEND_CLASS, students, perSendClass, totalStudents);
+    }
+
+    private String login(HttpClient client) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(
+                post("/auth/login", "{\"username\":\"adm\",\"password\":\"123456\"}").build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode());
+        return response.headers().firstValue(HttpHeaders.AUTHORIZATION).orElseThrow();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api" + path);
+    }
+
+    private static Stats run(long deadline, Call call) throws InterruptedException {
+        Stats stats = new Stats();
+        while (System.nanoTime() < deadline) {
+            try {
+                stats.began = System.nanoTime();
+                call.run(stats);
+            } catch (IOException ex) {
+                stats.failed++;
+            }
+        }
+        return stats;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run(Stats stats) throws IOException, InterruptedException;
+    }
+
+    /** Per-client tallies, merged once the run is over so recording never contends. */
+    private static final class Stats {
+
+        private final Map<String, Map<Integer, Long>> statuses = new TreeMap<>();
+        private final Map<String, List<Long>> latencies = new TreeMap<>();
+        private long began;
+        private long failed;
+
+        void record(String kind, HttpResponse<?> response) {
+            statuses.computeIfAbsent(kind, key -> new TreeMap<>()).merge(response.statusCode(), 1L, Long::sum);
+            latencies.computeIfAbsent(kind, key -> new ArrayList<>()).add(System.nanoTime() - began);
+        }
+
+        void merge(Stats other) {
+            other.statuses.forEach((kind, counts) -> counts.forEach((status, count) ->
+                    statuses.computeIfAbsent(kind, key -> new TreeMap<>()).merge(status, count, Long::sum)));
+            other.latencies.forEach((kind, values) -> latencies.computeIfAbsent(kind, key -> new ArrayList<>()).addAll(values));
+            failed += other.failed;
+        }
+
+        long count(String kind, int status) {
+            return statuses.getOrDefault(kind, Map.of()).getOrDefault(status, 0L);
+        }
+
+        long unexpected() {
+            return failed + statuses.values().stream()
+                    .flatMap(counts -> counts.entrySet().stream())
+                    .filter(entry -> entry.getKey() != 200 && entry.getKey() != 409 && entry.getKey() != 503)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        void print(String mode, int seconds) {
+            System.out.printf("%n== Attendance load, %s, %ds ==%n", mode, seconds);
+            statuses.forEach((kind, counts) -> {
+                List<Long> sorted = latencies.get(kind).stream().sorted().toList();
+                long ok = counts.getOrDefault(200, 0L) + counts.getOrDefault(409, 0L);
+                System.out.printf("%-8s %8.1f req/s  p50 %6.1f ms  p99 %7.1f ms  %s%n", kind, ok / (double) seconds,
+                        percentile(sorted, 0.50), percentile(sorted, 0.99), counts);
+            });
+            System.out.printf("io errors %d%n", failed);
+        }
+
+        private static double percentile(List<Long> sorted, double fraction) {
+            return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * fraction)) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return statuses + ", io errors " + failed;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.ludus.checkin.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.SqlRecorder;
+import br.com.ludus.checkin.configuration.web.ConditionalGet;
+
+/** ETags from the table change counters: 304 without the list query, and a new tag after any write. */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.ludus.checkin.SqlRecorder",
+        "whatsapp.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private String token;
+
+    @BeforeEach
+    void login() throws Exception {
+        if (token == null) {
+            token = mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\":\"adm\",\"password\":\"123456\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+    }
+
+    @Test
+    void unchangedListIsAnsweredWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/beat").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        SqlRecorder.clear();
+        mockMvc.perform(get("/beat").header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        List<String> statements = SqlRecorder.statements();
+        assertEquals(1, statements.size(), () -> String.join("\n", statements));
+        assertTrue(statements.get(0).contains("table_version"), statements.get(0));
+
+        new JdbcTemplate(dataSource).update("UPDATE beat SET name = name WHERE id = 1");
+
+        String changed = mockMvc.perform(get("/beat").header(HttpHeaders.AUTHORIZATION, token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void classListChangesWithItsRosters() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                INSERT INTO student (id, name, contact, is_active, enrollment_date)
+                VALUES (1, 'Ana', '11999990001', true, current_date), (2, 'Bruno', '11999990002', true, current_date);
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES (1, 'BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date, current_date + 90, 1);
+                INSERT INTO dancing_class_student (id_dancing_class, id_student) VALUES (1, 1);
+                """);
+        String etag = classListEtag(null);
+
+        mockMvc.perform(patch("/dancing-class/students").header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"dancingClassId\":1,\"enrollments\":[{\"studentId\":2,\"role\":\"CONDUCTOR\"}]}"))
+                .andExpect(status().isOk());
+        String enrolled = classListEtag(etag);
+        assertNotEquals(etag, enrolled);
+
+        jdbc.update("UPDATE student SET name = 'Ana Maria' WHERE id = 1");
+        assertNotEquals(enrolled, classListEtag(enrolled));
+    }
+
+    /** Re-polls the class list with the given tag and expects a full answer, returning its new tag. */
+    private String classListEtag(String previous) throws Exception {
+        var request = get("/dancing-class").header(HttpHeaders.AUTHORIZATION, token);
+        if (previous != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, previous);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void everyConditionalTableIsTracked() {
+        List<String> tracked = new JdbcTemplate(dataSource)
+                .queryForList("SELECT DISTINCT table_name FROM table_version", String.class);
+
+        List<String> annotated = handlerMapping.getHandlerMethods().values().stream()
+                .map(method -> method.getMethodAnnotation(ConditionalGet.class))
+                .filter(Objects::nonNull)
+                .flatMap(conditionalGet -> Arrays.stream(conditionalGet.tables()))
+                .distinct()
+                .toList();
+
+        assertTrue(annotated.size() >= 5, annotated::toString);
+        assertTrue(tracked.containsAll(annotated), () -> annotated + " not all in " + tracked);
+    }
+
+    @Test
+    void concurrentWritersDoNotWaitOnTheCounters() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long before = jdbc.queryForObject("SELECT sum(version) FROM table_version WHERE table_name = 'lesson'", Long.class);
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            first.createStatement().execute("UPDATE lesson SET is_deleted = is_deleted");
+            // Fails instead of hanging if the second writer had to wait for the first one's counter row.
+            second.createStatement().execute("SET LOCAL lock_timeout = '2s'");
+            second.createStatement().execute("UPDATE lesson SET is_deleted = is_deleted");
+            second.commit();
+            first.commit();
+        }
+
+        long after = jdbc.queryForObject("SELECT sum(version) FROM table_version WHERE table_name = 'lesson'", Long.class);
+        assertEquals(before + 2, after);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.ludus.checkin.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+
+/** Manual lessons next to the calendar materialized when the class is created. */
+@SpringBootTest(properties = "whatsapp.outbox.poll-interval-ms=3600000")
+@AutoConfigureMockMvc
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class LessonControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    private String token;
+
+    @BeforeEach
+    void login() throws Exception {
+        jdbc = new JdbcTemplate(dataSource);
+        if (token == null) {
+            token = mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\":\"adm\",\"password\":\"123456\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+    }
+
+    @Test
+    void postingATermDayReturnsTheMaterializedLesson() throws Exception {
+        mockMvc.perform(post("/dancing-class").header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"level":"BEGINNER","status":"IN_PROGRESS","dayWeek":"MONDAY","startSchedule":"19:00",
+                         "endSchedule":"20:30","startDate":"2026-03-02","endDate":"2026-06-29","beatId":1}
+                        """))
+                .andExpect(status().isOk());
+        long classId = jdbc.queryForObject("SELECT max(id) FROM dancing_class", Long.class);
+        LocalDate termDay = jdbc.queryForObject(
+                "SELECT min(day) FROM lesson WHERE dancing_class = ?", LocalDate.class, classId);
+        long lessonId = jdbc.queryForObject(
+                "SELECT id FROM lesson WHERE dancing_class = ? AND day = ?", Long.class, classId, termDay);
+
+        mockMvc.perform(post("/lessons").header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(lesson(classId, termDay)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(lessonId))
+                .andExpect(jsonPath("$.day").value(termDay.toString()));
+        assertEquals(1, lessonsOn(classId, termDay));
+
+        LocalDate extraDay = termDay.plusDays(2);
+        mockMvc.perform(post("/lessons").header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(lesson(classId, extraDay)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.day").value(extraDay.toString()));
+        assertEquals(1, lessonsOn(classId, extraDay));
+    }
+
+    private long lessonsOn(long classId, LocalDate day) {
+        return jdbc.queryForObject(
+                "SELECT count(*) FROM lesson WHERE dancing_class = ? AND day = ? AND is_deleted = false", Long.class, classId, day);
+    }
+
+    private static String lesson(long classId, LocalDate day) {
+        return """
+                {"day":"%s","startSchedule":"19:00","endSchedule":"20:30","dancingClassId":%d}
+                """.formatted(day, classId);
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.ludus.checkin.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.SqlRecorder;
+import br.com.ludus.checkin.service.TokenCodec;
+
+/**
+ * Caps the number of SQL statements each read endpoint may issue, authentication included. The seed has
+ * several classes, enrollments, lessons and participants, so a lazy association resolved row by row
+ * blows the budget instead of going unnoticed. Class 7 has a larger roster than the others, for writes
+ * whose cost must not grow with it.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.ludus.checkin.SqlRecorder",
+        "whatsapp.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class StatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TokenCodec tokenCodec;
+
+    private String token;
+
+    @BeforeEach
+    void seedAndLogin() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        if (jdbc.queryForObject("SELECT count(*) FROM dancing_class", Long.class) == 0) {
+            jdbc.execute("""
+                    INSERT INTO student (id, name, cpf, contact, is_active, enrollment_date)
+                    SELECT n, 'Aluno ' || n, lpad(n::text, 11, '0'), '1199999' || lpad(n::text, 4, '0'), true, current_date
+                    FROM generate_series(1, 70) n;
+                    INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                    SELECT n, 'BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date - 30, current_date + 60, 1 + n % 6
+                    FROM generate_series(1, 7) n;
+                    INSERT INTO dancing_class_student (id_student, id_dancing_class, role)
+                    SELECT n, least(1 + (n - 1) / 5, 7), 'CONDUCTED' FROM generate_series(1, 70) n;
+                    INSERT INTO lesson (day, start_schedule, end_schedule, dancing_class)
+                    SELECT current_date - 7 * n, '19:00', '20:30', 1 + n % 6 FROM generate_series(0, 23) n;
+                    INSERT INTO event (id, name, event_date, event_time, has_max_participants, max_participants, status)
+                    SELECT n, 'Baile ' || n, current_date + n, '21:00', false, 0, 'IN_PROGRESS' FROM generate_series(1, 3) n;
+                    INSERT INTO event_participant (id_event, id_student, external_participant_name)
+                    SELECT 1 + (n - 1) / 4, n, 'Aluno ' || n FROM generate_series(1, 12) n;
+                    """);
+        }
+        if (token == null) {
+            token = mockMvc.perform(post("/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"username\":\"adm\",\"password\":\"123456\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+    }
+
+    @Test
+    void dancingClassEndpointsStayWithinBudget() throws Exception {
+        assertStatementsAtMost(3, get("/dancing-class").param("page", "1").param("size", "10"));
+        assertStatementsAtMost(4, get("/dancing-class").param("status", "IN_PROGRESS").param("beatName", "SAMBA"));
+        assertStatementsAtMost(2, get("/dancing-class/how-many"));
+        assertStatementsAtMost(3, get("/dancing-class/status"));
+    }
+
+    @Test
+    void lessonAndStudentEndpointsStayWithinBudget() throws Exception {
+        assertStatementsAtMost(2, get("/lessons").param("id", "1"));
+        assertStatementsAtMost(3, get("/student").param("page", "1").param("size", "20"));
+        assertStatementsAtMost(3, get("/student/dancing-class").param("id", "1"));
+    }
+
+    @Test
+    void eventEndpointsStayWithinBudget() throws Exception {
+        assertStatementsAtMost(3, get("/event"));
+        assertStatementsAtMost(3, get("/event/1"));
+        assertStatementsAtMost(1, get("/event/summary").param("archived", "false").param("size", "2"));
+    }
+
+    @Test
+    void respondingToAConfirmationDoesNotGrowWithTheRoster() throws Exception {
+        // Class 1 has 5 students, class 7 has 40. The first answer also fetches the attendance id sequence.
+        new JdbcTemplate(dataSource).update("""
+                INSERT INTO attendance_request (class_id, student_id, token_hash, date, status, expires_at)
+                VALUES (1, 2, ?, current_date, 'PENDING', now() + interval '1 hour'),
+                       (1, 1, ?, current_date, 'PENDING', now() + interval '1 hour'),
+                       (7, 70, ?, current_date, 'PENDING', now() + interval '1 hour')
+                """, tokenCodec.hash("warm-up-token"), tokenCodec.hash("small-class-token"), tokenCodec.hash("large-class-token"));
+        statementsOf(respond("warm-up-token"));
+
+        List<String> small = statementsOf(respond("small-class-token"));
+        List<String> large = statementsOf(respond("large-class-token"));
+
+        assertEquals(small.size(), large.size(), () -> String.join("\n", large));
+        assertTrue(large.size() <= 4, () -> large.size() + " statements (budget 4):\n" + String.join("\n", large));
+    }
+
+    private static MockHttpServletRequestBuilder respond(String confirmationToken) {
+        return post("/attendance/respond")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\":\"" + confirmationToken + "\",\"status\":\"PRESENT\"}");
+    }
+
+    private void assertStatementsAtMost(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        List<String> statements = statementsOf(request.header(HttpHeaders.AUTHORIZATION, token));
+        assertTrue(statements.size() <= budget, () -> statements.size() + " statements (budget " + budget + "):\n"
+                + String.join("\n", statements));
+    }
+
+    private List<String> statementsOf(RequestBuilder request) throws Exception {
+        SqlRecorder.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return SqlRecorder.statements();
+    }
+}
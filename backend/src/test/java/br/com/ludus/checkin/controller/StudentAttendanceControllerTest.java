@@ -15,11 +15,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusDto;
 import br.com.ludus.checkin.dto.attendance.SendAttendanceRequestDto;
 import br.com.ludus.checkin.dto.attendance.SendAttendanceResponseDto;
+import br.com.ludus.checkin.dto.attendance.StudentAttendanceDto;
 import br.com.ludus.checkin.dto.attendance.StudentAttendanceItemDto;
+import br.com.ludus.checkin.dto.attendance.UpdateAttendanceBatchDto;
 import br.com.ludus.checkin.dto.attendance.UpdateAttendanceDto;
 import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+import br.com.ludus.checkin.model.DancingClass;
+import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.model.StudentAttendance;
 import br.com.ludus.checkin.service.AttendanceConfirmationService;
 import br.com.ludus.checkin.service.StudentAttendanceService;
@@ -54,19 +59,41 @@ class StudentAttendanceControllerTest {
 
     @Test
     void shouldCreateOrUpdateAttendance() {
+        Student student = new Student();
+        student.setId(1L);
+        DancingClass dancingClass = new DancingClass();
+        dancingClass.setId(2L);
         StudentAttendance attendance = new StudentAttendance();
         attendance.setId(10L);
+        attendance.setStudent(student);
+        attendance.setDancingClass(dancingClass);
         attendance.setAttendanceDate(LocalDate.of(2026, 3, 5));
         attendance.setStatus(AttendanceStatusEnum.PRESENTE);
 
         when(studentAttendanceService.createOrUpdate(any())).thenReturn(attendance);
 
-        UpdateAttendanceDto dto = new UpdateAttendanceDto(1L, 1L, LocalDate.of(2026, 3, 5), "PRESENTE");
-        ResponseEntity<StudentAttendance> response = studentAttendanceController.createOrUpdate(dto);
+        UpdateAttendanceDto dto = new UpdateAttendanceDto(1L, 2L, LocalDate.of(2026, 3, 5), "PRESENTE");
+        ResponseEntity<StudentAttendanceDto> response = studentAttendanceController.createOrUpdate(dto);
 
         assertEquals(200, response.getStatusCode().value());
-        assertEquals(10L, response.getBody().getId());
-        assertEquals(AttendanceStatusEnum.PRESENTE, response.getBody().getStatus());
+        assertEquals(new StudentAttendanceDto(10L, 1L, 2L, LocalDate.of(2026, 3, 5), "PRESENTE"), response.getBody());
+    }
+
+    @Test
+    void shouldUpdateAttendanceInBatch() {
+        UpdateAttendanceBatchDto dto = new UpdateAttendanceBatchDto(1L, LocalDate.of(2026, 3, 5), List.of(
+                new AttendanceStatusDto(1L, "PRESENTE"),
+                new AttendanceStatusDto(2L, "RECUSADO")));
+        when(studentAttendanceService.updateBatch(dto))
+                .thenReturn(List.of(
+                        new StudentAttendanceItemDto(1L, "Ana Souza", "CONDUCTED", "PRESENTE"),
+                        new StudentAttendanceItemDto(2L, "Bruno Pereira", "CONDUCTOR", "RECUSADO")));
+
+        ResponseEntity<List<StudentAttendanceItemDto>> response = studentAttendanceController.updateBatch(dto);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, response.getBody().size());
+        assertEquals("RECUSADO", response.getBody().get(1).status());
     }
 
     @Test
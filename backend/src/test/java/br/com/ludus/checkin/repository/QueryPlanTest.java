@@ -0,0 +1,242 @@
+package br.com.ludus.checkin.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.SqlRecorder;
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
+import br.com.ludus.checkin.enums.EventStatusEnum;
+import br.com.ludus.checkin.enums.OutboxStatusEnum;
+import br.com.ludus.checkin.enums.StatusDancingEnum;
+import br.com.ludus.checkin.security.repository.PermissionRepository;
+import br.com.ludus.checkin.security.repository.RefreshTokenRepository;
+import br.com.ludus.checkin.security.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Runs the repository queries against an embedded Postgres, records the SQL Hibernate sends and fails
+ * if any of it plans a sequential scan. {@code enable_seqscan} is turned off so the planner picks an
+ * index whenever one matches, regardless of how small the test tables are.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.ludus.checkin.SqlRecorder",
+        "whatsapp.outbox.poll-interval-ms=3600000"
+})
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AttendanceRequestRepository attendanceRequestRepository;
+
+    @Autowired
+    private DancingClassEnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private DancingClassRepository dancingClassRepository;
+
+    @Autowired
+    private EventParticipantRepository eventParticipantRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private StudentAttendanceRepository attendanceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private WhatsAppOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @BeforeEach
+    void seed() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        if (jdbc.queryForObject("SELECT count(*) FROM dancing_class", Long.class) > 0) {
+            return;
+        }
+        jdbc.execute("""
+                INSERT INTO student (name, contact, is_active, enrollment_date) VALUES ('Ana Souza', '11999999999', true, current_date);
+                INSERT INTO dancing_class (level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES ('BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date, current_date + 90, 1);
+                INSERT INTO dancing_class_student (id_student, id_dancing_class) VALUES (1, 1);
+                INSERT INTO lesson (day, start_schedule, end_schedule, dancing_class) VALUES (current_date, '19:00', '20:30', 1);
+                INSERT INTO event (name, event_date, event_time) VALUES ('Baile', current_date, '21:00');
+                INSERT INTO event_participant (id_event, id_student) VALUES (1, 1);
+                """);
+    }
+
+    @Test
+    void attendanceQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            LocalDate today = LocalDate.now();
+            attendanceRepository.findSheetByClassIdAndAttendanceDate(1L, today);
+            attendanceRepository.findByClassIdAndAttendanceDate(1L, today);
+            attendanceRepository.findByStudentIdAndClassIdAndAttendanceDate(1L, 1L, today);
+            attendanceRepository.countByAttendanceDateAndStatus(today, AttendanceStatusEnum.PRESENTE);
+            attendanceRequestRepository.findByTokenHash("hash");
+            attendanceRequestRepository.findByDancingClassIdAndStudentIdAndDate(1L, 1L, today);
+            attendanceRequestRepository.updateDeliveryStatus(1L, DeliveryStatusEnum.SENT, LocalDateTime.now());
+        });
+    }
+
+    @Test
+    void classQueriesUseIndexes() {
+        assertNoSequentialScan(() -> transactionTemplate.executeWithoutResult(status -> {
+            LocalDate today = LocalDate.now();
+            dancingClassRepository.findDtoById(1L);
+            dancingClassRepository.lockAllById(List.of(1L, 2L));
+            dancingClassRepository.findAllForList(PageRequest.of(0, 10));
+            dancingClassRepository.findHowManyLessonsAreLeft(StatusDancingEnum.IN_PROGRESS, today);
+            dancingClassRepository.findAllForStatusDashboard(
+                    StatusDancingEnum.IN_PROGRESS, StatusDancingEnum.COMPLETED, today.minusDays(30));
+            enrollmentRepository.findByDancingClassIdAndStudentId(1L, 1L);
+            enrollmentRepository.findByDancingClassIdOrderByStudentName(1L);
+            enrollmentRepository.findRosters(List.of(1L, 2L));
+            enrollmentRepository.findRoles(1L, List.of(1L, 2L));
+            holidayRepository.findDaysBetween(today, today.plusDays(90));
+            lessonRepository.countByDancingClassIdAndDayGreaterThanEqual(1L, today);
+            lessonRepository.findByDancingClassIdAndDay(1L, today);
+            lessonRepository.findAllByDancingClassId(PageRequest.of(0, 10), 1L);
+        }));
+    }
+
+    @Test
+    void studentAndEventQueriesUseIndexes() {
+        assertNoSequentialScan(() -> transactionTemplate.executeWithoutResult(status -> {
+            studentRepository.findById(1L).ifPresent(student -> student.getEnrollments().size());
+            studentRepository.findByNameContainingIgnoreCase("ana", PageRequest.of(0, 10));
+            studentRepository.search("ana", -1f, 0L, 21);
+            studentRepository.findExistingCpfs(new String[] { "00000000001", "00000000002" });
+            studentRepository.findStudentsByDancingClassId(PageRequest.of(0, 10), 1L);
+            eventRepository.findDtoById(1L);
+            eventRepository.findSummaries("", true, false, LocalDate.of(1900, 1, 1), LocalDate.of(9999, 12, 31),
+                    LocalDate.of(10000, 1, 1), Long.MAX_VALUE, 21);
+            eventParticipantRepository.findDtosByEventIds(List.of(1L, 2L));
+            eventParticipantRepository.findByEvent_IdAndStudent_Id(1L, 1L);
+            eventParticipantRepository.existsByEvent_IdAndStudent_Id(1L, 1L);
+            eventRepository.reserveSeat(1L, EventStatusEnum.FINISHED);
+            eventRepository.releaseSeat(1L);
+        }));
+    }
+
+    @Test
+    void securityAndOutboxQueriesUseIndexes() {
+        assertNoSequentialScan(() -> transactionTemplate.executeWithoutResult(status -> {
+            userRepository.findByUsername("adm");
+            permissionRepository.getPermissionByDescription("ADMIN");
+            refreshTokenRepository.findByTokenHash("hash");
+            refreshTokenRepository.findFamiliesRevokedSince(LocalDateTime.now().minusMinutes(15));
+            refreshTokenRepository.revokeFamily(UUID.randomUUID(), LocalDateTime.now());
+            refreshTokenRepository.revokeAllByUserId(1L, LocalDateTime.now());
+            outboxRepository.findDueForUpdate(LocalDateTime.now(), 50);
+            outboxRepository.cancelPending(List.of(1L), OutboxStatusEnum.PENDING, OutboxStatusEnum.CANCELED);
+            outboxRepository.completeAttempt(1L, 1, OutboxStatusEnum.SENDING, OutboxStatusEnum.SENT,
+                    LocalDateTime.now(), LocalDateTime.now(), null);
+        }));
+    }
+
+    private void assertNoSequentialScan(Runnable queries) {
+        SqlRecorder.clear();
+        queries.run();
+        Set<String> statements = new LinkedHashSet<>(SqlRecorder.statements());
+        assertFalse(statements.isEmpty(), "Nenhuma consulta registrada.");
+
+        List<String> failures = new ArrayList<>();
+        // Simple query mode: the extended protocol would try to bind the $n placeholders.
+        DataSource explainSource = postgres.getDatabase("postgres", "postgres",
+                Map.of("currentSchema", "checkin", "preferQueryMode", "simple"));
+        try (Connection connection = explainSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            for (String sql : statements) {
+                String plan = explain(statement, sql);
+                if (plan.contains("Seq Scan")) {
+                    failures.add(sql + "\n" + plan);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        assertTrue(failures.isEmpty(), "Sequential scan em:\n\n" + String.join("\n\n", failures));
+    }
+
+    private String explain(Statement statement, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /** GENERIC_PLAN takes {@code $n} placeholders; JDBC statements use {@code ?}. */
+    private static String numberParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                out.append('$').append(++index);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
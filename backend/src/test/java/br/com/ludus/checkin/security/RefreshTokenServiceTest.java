@@ -0,0 +1,101 @@
+package br.com.ludus.checkin.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import br.com.ludus.checkin.security.dto.TokensRevokedEvent;
+import br.com.ludus.checkin.security.model.Permission;
+import br.com.ludus.checkin.security.model.RefreshToken;
+import br.com.ludus.checkin.security.model.User;
+import br.com.ludus.checkin.security.repository.RefreshTokenRepository;
+import br.com.ludus.checkin.security.service.RefreshTokenService;
+import br.com.ludus.checkin.security.service.TokenService;
+import br.com.ludus.checkin.service.TokenCodec;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final UUID FAMILY = UUID.randomUUID();
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TokenCodec tokenCodec = new TokenCodec();
+    private final TokenService tokenService = new TokenService("secret", 15);
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, tokenService, tokenCodec, eventPublisher, 14);
+    }
+
+    @Test
+    void rotateMarksTheTokenUsedAndIssuesTheNextOneInTheSameFamily() {
+        RefreshToken current = stored("abc", null, null, LocalDateTime.now().plusDays(1));
+
+        var pair = refreshTokenService.rotate("abc");
+
+        assertNotNull(current.getRotatedAt());
+        assertNotEquals("abc", pair.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(FAMILY, saved.getValue().getFamilyId());
+        assertEquals(tokenCodec.hash(pair.refreshToken()), saved.getValue().getTokenHash());
+        assertEquals(FAMILY.toString(), tokenService.verify(pair.token()).getClaim(TokenService.CLAIM_FAMILY).asString());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() {
+        stored("abc", LocalDateTime.now().minusMinutes(1), null, LocalDateTime.now().plusDays(1));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("abc"));
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY), any());
+        verify(eventPublisher).publishEvent(new TokensRevokedEvent("adm"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void expiredOrRevokedTokensAreRejected() {
+        stored("old", null, null, LocalDateTime.now().minusSeconds(1));
+        stored("out", null, LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("old"));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("out"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    private RefreshToken stored(String value, LocalDateTime rotatedAt, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        User user = new User("adm", "hash", true, true, true, true);
+        user.setId(1L);
+        user.setPermissions(List.of(new Permission("ADMIN")));
+        RefreshToken token = new RefreshToken(1L, user, FAMILY, tokenCodec.hash(value),
+                LocalDateTime.now().minusDays(1), expiresAt, rotatedAt, revokedAt);
+        when(refreshTokenRepository.findByTokenHash(tokenCodec.hash(value))).thenReturn(Optional.of(token));
+        return token;
+    }
+}
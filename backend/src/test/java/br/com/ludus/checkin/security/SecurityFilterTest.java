@@ -0,0 +1,113 @@
+package br.com.ludus.checkin.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.com.ludus.checkin.security.config.SecurityFilter;
+import br.com.ludus.checkin.security.model.Permission;
+import br.com.ludus.checkin.security.model.User;
+import br.com.ludus.checkin.security.service.TokenRevocations;
+import br.com.ludus.checkin.security.service.TokenService;
+import br.com.ludus.checkin.security.service.VerifiedTokenCache;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SecurityFilterTest {
+
+    private static final UUID FAMILY = UUID.randomUUID();
+
+    @Mock
+    private TokenRevocations tokenRevocations;
+
+    private TokenService tokenService;
+    private SecurityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = spy(new TokenService("secret", 15));
+        filter = new SecurityFilter(tokenService, new VerifiedTokenCache(100), tokenRevocations);
+        when(tokenRevocations.isCurrent(anyString(), anyInt(), anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalComesFromTokenClaims() throws Exception {
+        String token = tokenService.createToken(user(3), FAMILY);
+
+        Authentication authentication = authenticate(token);
+
+        assertEquals(new AuthenticatedUser(7L, "adm", List.of("ADMIN")), authentication.getPrincipal());
+        assertEquals(List.of("ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(tokenRevocations).isCurrent("adm", 3, FAMILY.toString());
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() throws Exception {
+        String token = tokenService.createToken(user(0), FAMILY);
+
+        authenticate(token);
+        authenticate(token);
+
+        verify(tokenService, times(1)).verify(token);
+    }
+
+    @Test
+    void revokedTokenIsNotAuthenticated() throws Exception {
+        String token = tokenService.createToken(user(0), FAMILY);
+        when(tokenRevocations.isCurrent("adm", 0, FAMILY.toString())).thenReturn(false);
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretIsNotAuthenticated() throws Exception {
+        String token = new TokenService("other", 15).createToken(user(0), FAMILY);
+
+        assertNull(authenticate(token));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static User user(int epoch) {
+        User user = new User("adm", "hash", true, true, true, true);
+        user.setId(7L);
+        user.setTokenEpoch(epoch);
+        user.setPermissions(List.of(new Permission("ADMIN")));
+        return user;
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -11,6 +12,8 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,17 +23,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestUpsertDto;
+import br.com.ludus.checkin.dto.attendance.AttendanceRequestsIssuedEvent;
 import br.com.ludus.checkin.dto.attendance.AttendanceRespondDto;
 import br.com.ludus.checkin.dto.attendance.UpdateAttendanceDto;
+import br.com.ludus.checkin.dto.whatsapp.WhatsAppMessageDto;
 import br.com.ludus.checkin.enums.AttendanceRequestStatusEnum;
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
+import br.com.ludus.checkin.enums.LevelDancingEnum;
 import br.com.ludus.checkin.model.AttendanceRequest;
 import br.com.ludus.checkin.model.Beat;
 import br.com.ludus.checkin.model.DancingClass;
+import br.com.ludus.checkin.model.DancingClassHeader;
+import br.com.ludus.checkin.model.DancingClassEnrollment;
 import br.com.ludus.checkin.model.Student;
 import br.com.ludus.checkin.repository.AttendanceRequestRepository;
 import br.com.ludus.checkin.repository.DancingClassEnrollmentRepository;
@@ -51,7 +63,16 @@ class AttendanceConfirmationServiceTest {
     private StudentAttendanceService studentAttendanceService;
 
     @Mock
-    private WhatsAppService whatsAppService;
+    private WhatsAppOutboxService whatsAppOutboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TokenCodec tokenCodec = new TokenCodec();
+
+    @Spy
+    private ConfirmationTokenCache confirmationTokenCache = new ConfirmationTokenCache(100);
 
     @InjectMocks
     private AttendanceConfirmationService attendanceConfirmationService;
@@ -59,12 +80,49 @@ class AttendanceConfirmationServiceTest {
     @Captor
     private ArgumentCaptor<UpdateAttendanceDto> updateAttendanceCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<AttendanceRequestUpsertDto>> rowsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<WhatsAppMessageDto>> messagesCaptor;
+
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(attendanceConfirmationService, "frontendBaseUrl", "http://localhost:5173");
         ReflectionTestUtils.setField(attendanceConfirmationService, "tokenExpirationHours", 12);
     }
 
+    @Test
+    void shouldPersistRequestsAndQueueMessagesForStudentsWithContact() {
+        Beat beat = new Beat();
+        beat.setName("SERTANEJO");
+        DancingClassHeader dancingClass = new DancingClassHeader(
+                1L, LevelDancingEnum.BEGINNER, DayOfWeek.MONDAY, LocalTime.of(19, 0), LocalTime.of(20, 30), beat);
+        Student withContact = buildStudent(1L, "Ana Souza");
+        Student withoutContact = buildStudent(2L, "Bruno Pereira");
+        withoutContact.setContact(" ");
+
+        when(dancingClassService.findHeader(1L)).thenReturn(dancingClass);
+        when(enrollmentRepository.findByDancingClassIdOrderByStudentName(1L))
+                .thenReturn(List.of(buildEnrollment(withContact), buildEnrollment(withoutContact)));
+        when(attendanceRequestRepository.findIdsByStudent(eq(1L), any())).thenReturn(Map.of(1L, 10L, 2L, 11L));
+
+        var response = attendanceConfirmationService.sendRequestsForToday(1L);
+
+        assertEquals(2, response.totalStudents());
+        assertEquals(1, response.sentMessages());
+        verify(attendanceRequestRepository).upsertPending(eq(1L), any(), any(), rowsCaptor.capture());
+        assertEquals(2, rowsCaptor.getValue().size());
+        assertEquals(DeliveryStatusEnum.QUEUED, rowsCaptor.getValue().get(0).deliveryStatus());
+        assertEquals(DeliveryStatusEnum.NO_CONTACT, rowsCaptor.getValue().get(1).deliveryStatus());
+        assertEquals(64, rowsCaptor.getValue().get(0).tokenHash().length());
+        verify(whatsAppOutboxService).enqueue(messagesCaptor.capture());
+        assertEquals(1, messagesCaptor.getValue().size());
+        assertEquals(10L, messagesCaptor.getValue().get(0).attendanceRequestId());
+        assertEquals("11999999999", messagesCaptor.getValue().get(0).phone());
+        verify(eventPublisher).publishEvent(new AttendanceRequestsIssuedEvent(1L, LocalDate.now()));
+    }
+
     @Test
     void shouldReturnConfirmationInfoForValidToken() {
         AttendanceRequest request = new AttendanceRequest();
@@ -83,6 +141,47 @@ class AttendanceConfirmationServiceTest {
         assertEquals("19:00 - 20:30", info.time());
     }
 
+    @Test
+    void shouldServeRepeatedConfirmationInfoFromCacheUntilResponded() {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setTokenHash(tokenCodec.hash("valid-token"));
+        request.setExpiresAt(LocalDateTime.now().plusHours(1));
+        request.setDate(LocalDate.of(2026, 3, 5));
+        request.setStudent(buildStudent(1L, "Ana Souza"));
+        request.setDancingClass(buildClass(1L, "SERTANEJO", DayOfWeek.MONDAY));
+
+        when(attendanceRequestRepository.findByTokenHash(request.getTokenHash())).thenReturn(Optional.of(request));
+
+        attendanceConfirmationService.getConfirmationInfo("valid-token");
+        attendanceConfirmationService.getConfirmationInfo(" valid-token ");
+        verify(attendanceRequestRepository, times(1)).findByTokenHash(request.getTokenHash());
+
+        attendanceConfirmationService.respond(new AttendanceRespondDto("valid-token", "ABSENT"));
+        attendanceConfirmationService.getConfirmationInfo("valid-token");
+        verify(attendanceRequestRepository, times(3)).findByTokenHash(request.getTokenHash());
+    }
+
+    @Test
+    void shouldReloadConfirmationInfoOnceTheClassIsResent() {
+        AttendanceRequest request = new AttendanceRequest();
+        request.setTokenHash(tokenCodec.hash("valid-token"));
+        request.setExpiresAt(LocalDateTime.now().plusHours(1));
+        request.setDate(LocalDate.of(2026, 3, 5));
+        request.setStudent(buildStudent(1L, "Ana Souza"));
+        request.setDancingClass(buildClass(1L, "SERTANEJO", DayOfWeek.MONDAY));
+
+        when(attendanceRequestRepository.findByTokenHash(request.getTokenHash())).thenReturn(Optional.of(request));
+
+        attendanceConfirmationService.getConfirmationInfo("valid-token");
+        confirmationTokenCache.onRequestsIssued(new AttendanceRequestsIssuedEvent(2L, LocalDate.of(2026, 3, 5)));
+        attendanceConfirmationService.getConfirmationInfo("valid-token");
+        verify(attendanceRequestRepository, times(1)).findByTokenHash(request.getTokenHash());
+
+        confirmationTokenCache.onRequestsIssued(new AttendanceRequestsIssuedEvent(1L, LocalDate.of(2026, 3, 5)));
+        attendanceConfirmationService.getConfirmationInfo("valid-token");
+        verify(attendanceRequestRepository, times(2)).findByTokenHash(request.getTokenHash());
+    }
+
     @Test
     void shouldRespondAsPresentAndUpdateAttendance() {
         AttendanceRequest request = new AttendanceRequest();
@@ -165,6 +264,12 @@ class AttendanceConfirmationServiceTest {
         return student;
     }
 
+    private DancingClassEnrollment buildEnrollment(Student student) {
+        DancingClassEnrollment enrollment = new DancingClassEnrollment();
+        enrollment.setStudent(student);
+        return enrollment;
+    }
+
     private DancingClass buildClass(Long id, String beatName, DayOfWeek dayOfWeek) {
         Beat beat = new Beat();
         beat.setName(beatName);
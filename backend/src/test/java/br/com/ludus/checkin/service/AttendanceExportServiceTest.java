@@ -0,0 +1,129 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.enums.ExportFormatEnum;
+
+/** Attendance history exported from a real Postgres cursor. */
+@SpringBootTest(properties = {
+        "whatsapp.outbox.poll-interval-ms=3600000",
+        "attendance.export.fetch-size=2"
+})
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AttendanceExportServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private AttendanceExportService attendanceExportService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        if (jdbc.queryForObject("SELECT count(*) FROM student_attendance", Long.class) > 0) {
+            return;
+        }
+        jdbc.execute("""
+                INSERT INTO student (id, name, contact, is_active, enrollment_date) VALUES
+                    (1, 'Souza; Ana', '11999999999', true, '2026-01-01'),
+                    (2, '=Bruno "B"', '11999999998', true, '2026-01-01');
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES (1, 'BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', '2026-01-01', '2026-12-31', 1),
+                       (2, 'ADVANCED', 'IN_PROGRESS', 'MONDAY', '21:00', '22:00', '2026-01-01', '2026-12-31', 1);
+                INSERT INTO lesson (day, start_schedule, end_schedule, dancing_class) VALUES ('2026-03-02', '19:30', '21:00', 1);
+                """);
+        // Four Mondays, both students in class 1 and one in class 2: 12 rows, more than the fetch size.
+        jdbc.update("""
+                INSERT INTO student_attendance (student_id, class_id, attendance_date, status)
+                SELECT s.id, c.id, ?::date + 7 * w, 'PRESENTE'
+                FROM generate_series(0, 3) w
+                CROSS JOIN (VALUES (1, 1), (2, 1), (1, 2)) AS x(student, class)
+                JOIN student s ON s.id = x.student
+                JOIN dancing_class c ON c.id = x.class
+                """, FIRST_DAY);
+    }
+
+    @Test
+    void streamsCsvOrderedByDateClassAndStudent() throws Exception {
+        List<String> lines = csv(FIRST_DAY, FIRST_DAY.plusWeeks(3), null);
+
+        assertEquals(13, lines.size());
+        assertEquals("\uFEFFData;Turma;Ritmo;Nível;Dia;Início;Fim;Aluno ID;Aluno;CPF;Status", lines.get(0));
+        assertEquals("2026-03-02;1;SERTANEJO;BEGINNER;MONDAY;19:30;21:00;2;\"'=Bruno \"\"B\"\"\";;PRESENTE", lines.get(1));
+        assertEquals("2026-03-02;1;SERTANEJO;BEGINNER;MONDAY;19:30;21:00;1;\"Souza; Ana\";;PRESENTE", lines.get(2));
+        assertEquals("2026-03-02;2;SERTANEJO;ADVANCED;MONDAY;21:00;22:00;1;\"Souza; Ana\";;PRESENTE", lines.get(3));
+        assertTrue(lines.get(4).startsWith("2026-03-09;1;SERTANEJO;BEGINNER;MONDAY;19:00;20:30;"),
+                "Sem aula materializada, o horário vem da turma");
+    }
+
+    @Test
+    void filtersByClassAndRange() throws Exception {
+        List<String> lines = csv(FIRST_DAY.plusWeeks(1), FIRST_DAY.plusWeeks(2), 2L);
+
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("2026-03-09;2;"));
+        assertTrue(lines.get(2).startsWith("2026-03-16;2;"));
+    }
+
+    @Test
+    void writesAWorkbookWithOneRowPerAttendance() throws Exception {
+        var out = new ByteArrayOutputStream();
+        attendanceExportService.export(FIRST_DAY, FIRST_DAY.plusWeeks(3), null, ExportFormatEnum.XLSX).writeTo(out);
+
+        Map<String, String> parts = new HashMap<>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(parts.keySet().containsAll(List.of(
+                "[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels")));
+        String sheet = parts.get("xl/worksheets/sheet1.xml");
+        assertEquals(13, sheet.split("<row>", -1).length - 1);
+        assertTrue(sheet.contains("=Bruno &quot;B&quot;"));
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+    }
+
+    @Test
+    void rejectsInvertedRangeAndUnknownFormat() {
+        assertThrows(IllegalArgumentException.class,
+                () -> attendanceExportService.export(FIRST_DAY, FIRST_DAY.minusDays(1), null, ExportFormatEnum.CSV));
+        assertThrows(IllegalArgumentException.class, () -> attendanceExportService.parseFormat("pdf"));
+        assertEquals(ExportFormatEnum.XLSX, attendanceExportService.parseFormat("xlsx"));
+    }
+
+    private List<String> csv(LocalDate from, LocalDate to, Long classId) throws Exception {
+        var out = new ByteArrayOutputStream();
+        attendanceExportService.export(from, to, classId, ExportFormatEnum.CSV).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
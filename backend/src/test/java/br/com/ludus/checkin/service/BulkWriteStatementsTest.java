@@ -0,0 +1,171 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.JdbcRoundTrips;
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusDto;
+import br.com.ludus.checkin.dto.attendance.UpdateAttendanceBatchDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassDto;
+import br.com.ludus.checkin.enums.LevelDancingEnum;
+import br.com.ludus.checkin.model.Student;
+
+/**
+ * Counts the JDBC round trips of the bulk writes, at two sizes each. Enrollment copy and the attendance
+ * sheet are set-based, so their count does not depend on the number of students. The student import
+ * relies on Hibernate: pooled-lo sequences hand out 50 ids per {@code nextval} and inserts are sent in
+ * batches of 50, so it grows by two round trips per 50 students instead of one per student, on top of
+ * one lookup of the CPFs already registered.
+ */
+@SpringBootTest(properties = "whatsapp.outbox.poll-interval-ms=3600000")
+@Import({ EmbeddedPostgresConfig.class, BulkWriteStatementsTest.CountingDataSource.class })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BulkWriteStatementsTest {
+
+    private static final AtomicLong CPF = new AtomicLong();
+
+    @TestConfiguration
+    static class CountingDataSource {
+
+        @Bean
+        static BeanPostProcessor jdbcRoundTripsDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? JdbcRoundTrips.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private DancingClassService dancingClassService;
+
+    @Autowired
+    private StudentAttendanceService studentAttendanceService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void studentImportSendsInsertsInBatches() {
+        List<String> large = roundTrips(() -> studentService.importStudents(students("b", 120)));
+
+        // 120 students: one lookup of the CPFs already registered, three batches of at most 50 inserts, plus
+        // one nextval per 50 ids handed out.
+        assertEquals(3, large.stream().filter(sql -> sql.startsWith("[batch] insert into checkin.student")).count(),
+                () -> String.join("\n", large));
+        assertTrue(sequenceFetches(large) <= 3, () -> String.join("\n", large));
+        assertEquals(4, withoutSequenceFetches(large).size(), () -> String.join("\n", large));
+    }
+
+    @Test
+    void enrollmentCopyDoesNotDependOnTheRosterSize() {
+        Long smallClass = classWithStudents(5);
+        Long largeClass = classWithStudents(60);
+
+        List<String> small = roundTrips(() -> dancingClassService.progressClass(smallClass, nextTerm()));
+        List<String> large = roundTrips(() -> dancingClassService.progressClass(largeClass, nextTerm()));
+
+        assertEquals(withoutSequenceFetches(small), withoutSequenceFetches(large));
+        assertTrue(large.size() <= 12, () -> String.join("\n", large));
+    }
+
+    @Test
+    void attendanceSheetDoesNotDependOnTheClassSize() {
+        Long smallClass = classWithStudents(5);
+        Long largeClass = classWithStudents(60);
+
+        UpdateAttendanceBatchDto smallSheet = sheet(smallClass);
+        UpdateAttendanceBatchDto largeSheet = sheet(largeClass);
+
+        List<String> small = roundTrips(() -> studentAttendanceService.updateBatch(smallSheet));
+        List<String> large = roundTrips(() -> studentAttendanceService.updateBatch(largeSheet));
+
+        assertEquals(withoutSequenceFetches(small), withoutSequenceFetches(large));
+        assertTrue(large.size() <= 6, () -> String.join("\n", large));
+    }
+
+    private static List<String> roundTrips(Supplier<?> operation) {
+        JdbcRoundTrips.clear();
+        operation.get();
+        return JdbcRoundTrips.executions();
+    }
+
+    /** Whether a {@code nextval} happens depends on how much of the current id block is left. */
+    private static List<String> withoutSequenceFetches(List<String> executions) {
+        return executions.stream().filter(sql -> !sql.contains("nextval(")).toList();
+    }
+
+    private static long sequenceFetches(List<String> executions) {
+        return executions.size() - withoutSequenceFetches(executions).size();
+    }
+
+    private static List<Student> students(String prefix, int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(n -> {
+            Student student = new Student();
+            student.setName("Aluno " + prefix + n);
+            student.setContact("11999" + String.format("%06d", n));
+            student.setCpf(String.format("%011d", CPF.incrementAndGet()));
+            student.setActive(true);
+            return student;
+        }).toList();
+    }
+
+    private Long classWithStudents(int count) {
+        List<Long> studentIds = studentService.importStudents(students("c", count)).stream()
+                .map(Student::getId)
+                .toList();
+        Long classId = jdbc.queryForObject("""
+                INSERT INTO dancing_class (level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES ('BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date - 30, current_date + 60, 1)
+                RETURNING id
+                """, Long.class);
+        jdbc.batchUpdate("INSERT INTO dancing_class_student (id_dancing_class, id_student) VALUES (?, ?)",
+                studentIds.stream().map(id -> new Object[] { classId, id }).toList());
+        return classId;
+    }
+
+    private UpdateAttendanceBatchDto sheet(Long classId) {
+        List<AttendanceStatusDto> items = jdbc.queryForList(
+                "SELECT id_student FROM dancing_class_student WHERE id_dancing_class = ?", Long.class, classId)
+                .stream()
+                .map(studentId -> new AttendanceStatusDto(studentId, "PRESENTE"))
+                .toList();
+        return new UpdateAttendanceBatchDto(classId, LocalDate.now(), items);
+    }
+
+    private static ProgressClassDto nextTerm() {
+        return new ProgressClassDto(LevelDancingEnum.INTERMEDIARY, LocalDate.now().plusDays(90), LocalDate.now().plusDays(200));
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassBatchItemDto;
+import br.com.ludus.checkin.dto.dancing.ProgressClassResultDto;
+import br.com.ludus.checkin.enums.LevelDancingEnum;
+
+/** Term rollover against a real Postgres, with chunks smaller than the batch so they run in parallel. */
+@SpringBootTest(properties = {
+        "whatsapp.outbox.poll-interval-ms=3600000",
+        "dancing-class.rollover.chunk-size=2"
+})
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ClassRolloverServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 8, 3);
+    private static final LocalDate END = LocalDate.of(2026, 11, 30);
+
+    @Autowired
+    private ClassRolloverService classRolloverService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void progressesEveryClassAndReportsTheOnesThatCannot() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                INSERT INTO student (id, name, contact, is_active, enrollment_date, is_deleted) VALUES
+                    (1, 'Ana', '11999999991', true, '2026-01-01', false),
+                    (2, 'Bruno', '11999999992', true, '2026-01-01', false),
+                    (3, 'Carla', '11999999993', false, '2026-01-01', true);
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                SELECT n, 'BEGINNER', CASE WHEN n = 5 THEN 'COMPLETED' ELSE 'IN_PROGRESS' END, 'MONDAY',
+                       '19:00', '20:30', '2026-02-02', '2026-07-27', 1
+                FROM generate_series(1, 5) n;
+                INSERT INTO dancing_class_student (id_dancing_class, id_student, role)
+                SELECT c, s, CASE WHEN s = 1 THEN 'CONDUCTOR' ELSE 'CONDUCTED' END
+                FROM generate_series(1, 5) c CROSS JOIN generate_series(1, 3) s;
+                -- Explicit ids leave the sequence behind; move it past them before Hibernate inserts classes.
+                SELECT setval('dancing_class_id_seq', 5);
+                """);
+
+        List<ProgressClassBatchItemDto> items = List.of(
+                item(1L), item(2L), item(3L), item(4L), item(5L), item(2L), item(99L));
+        var response = classRolloverService.progressAll(new ProgressClassBatchDto(items));
+
+        assertEquals(4, response.progressed());
+        assertEquals(3, response.failed());
+        assertEquals(7, response.results().size());
+
+        Map<Long, List<ProgressClassResultDto>> byClass = response.results().stream()
+                .collect(Collectors.groupingBy(ProgressClassResultDto::classId));
+        for (long classId = 1; classId <= 4; classId++) {
+            ProgressClassResultDto result = byClass.get(classId).stream()
+                    .filter(r -> r.error() == null).findFirst().orElseThrow();
+            assertNotNull(result.newClassId());
+            assertEquals(2, result.enrollments(), "O aluno excluído não é copiado");
+            assertEquals("COMPLETED", jdbc.queryForObject(
+                    "SELECT status FROM dancing_class WHERE id = ?", String.class, classId));
+            assertEquals("CONDUCTOR", jdbc.queryForObject("""
+                    SELECT role FROM dancing_class_student WHERE id_dancing_class = ? AND id_student = 1
+                    """, String.class, result.newClassId()));
+            assertEquals(18, jdbc.queryForObject(
+                    "SELECT count(*) FROM lesson WHERE dancing_class = ?", Integer.class, result.newClassId()));
+        }
+        Map<Long, String> errors = response.results().stream()
+                .filter(r -> r.error() != null)
+                .collect(Collectors.toMap(ProgressClassResultDto::classId, ProgressClassResultDto::error));
+        assertEquals("Turma já está finalizada ou cancelada e não pode ser progredida.", errors.get(5L));
+        assertEquals("Turma repetida na requisição.", errors.get(2L));
+        assertEquals("Turma não encontrada.", errors.get(99L));
+        assertEquals(9, jdbc.queryForObject("SELECT count(*) FROM dancing_class", Integer.class));
+    }
+
+    private static ProgressClassBatchItemDto item(Long classId) {
+        return new ProgressClassBatchItemDto(classId, LevelDancingEnum.INTERMEDIARY, START, END);
+    }
+}
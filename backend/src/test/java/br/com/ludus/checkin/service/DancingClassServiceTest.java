@@ -0,0 +1,64 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.dto.dancing.EnrollmentItemDto;
+
+/** Enrollment registration against a real Postgres, where the upsert and the diff can be checked together. */
+@SpringBootTest(properties = "whatsapp.outbox.poll-interval-ms=3600000")
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class DancingClassServiceTest {
+
+    @Autowired
+    private DancingClassService dancingClassService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void registerStudentsReturnsWhatChanged() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+                INSERT INTO student (id, name, contact, is_active, enrollment_date, is_deleted)
+                SELECT n, 'Aluno ' || n, '1199999' || lpad(n::text, 4, '0'), true, current_date, n = 5
+                FROM generate_series(1, 5) n;
+                INSERT INTO dancing_class (level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES ('BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date, current_date + 90, 1);
+                INSERT INTO dancing_class_student (id_dancing_class, id_student, role) VALUES
+                    (1, 1, 'CONDUCTED'), (1, 2, 'CONDUCTED');
+                """);
+
+        var result = dancingClassService.registerStudents(1L, List.of(
+                new EnrollmentItemDto(1L, "CONDUCTED"),
+                new EnrollmentItemDto(2L, "CONDUCTOR"),
+                new EnrollmentItemDto(3L, null),
+                new EnrollmentItemDto(4L, "CONDUCTOR"),
+                new EnrollmentItemDto(5L, "CONDUCTOR"),
+                new EnrollmentItemDto(99L, "CONDUCTOR")));
+
+        assertEquals(List.of(3L, 4L), result.added());
+        assertEquals(List.of(2L), result.updated());
+        assertEquals(List.of(1L), result.unchanged());
+        assertEquals(List.of(5L, 99L), result.unknown());
+        assertEquals(List.of("CONDUCTED", "CONDUCTOR", "CONDUCTED", "CONDUCTOR"), jdbc.queryForList("""
+                SELECT role FROM dancing_class_student WHERE id_dancing_class = 1 ORDER BY id_student
+                """, String.class));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dancingClassService.registerStudents(42L, List.of(new EnrollmentItemDto(1L, null))));
+    }
+}
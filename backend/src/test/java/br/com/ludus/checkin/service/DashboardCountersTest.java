@@ -0,0 +1,87 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.ludus.checkin.dto.dashboard.DashboardCounterEvent;
+import br.com.ludus.checkin.dto.dashboard.DashboardStatsDto;
+import br.com.ludus.checkin.enums.AttendanceStatusEnum;
+import br.com.ludus.checkin.enums.StatusDancingEnum;
+import br.com.ludus.checkin.repository.DancingClassRepository;
+import br.com.ludus.checkin.repository.StudentAttendanceRepository;
+import br.com.ludus.checkin.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCountersTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private DancingClassRepository dancingClassRepository;
+
+    @Mock
+    private StudentAttendanceRepository attendanceRepository;
+
+    @InjectMocks
+    private DashboardCounters dashboardCounters;
+
+    @Test
+    void shouldLoadOnceAndApplyDeltasWithoutQuerying() {
+        when(studentRepository.count()).thenReturn(10L);
+        when(dancingClassRepository.countActiveEnrollments()).thenReturn(25L);
+        when(dancingClassRepository.countByStatus()).thenReturn(List.of(
+                statusCount(StatusDancingEnum.IN_PROGRESS, 3), statusCount(null, 1), statusCount(StatusDancingEnum.COMPLETED, 2)));
+        when(attendanceRepository.countByAttendanceDateAndStatus(LocalDate.now(), AttendanceStatusEnum.PRESENTE)).thenReturn(4L);
+
+        DashboardStatsDto loaded = dashboardCounters.snapshot();
+
+        assertEquals(10, loaded.totalStudents());
+        assertEquals(6, loaded.totalClasses());
+        assertEquals(4, loaded.classesByStatus().get("IN_PROGRESS"));
+        assertEquals(4, loaded.todayAttendance());
+
+        dashboardCounters.onChange(DashboardCounterEvent.students(1));
+        dashboardCounters.onChange(DashboardCounterEvent.enrollments(-2));
+        dashboardCounters.onChange(DashboardCounterEvent.classMoved(StatusDancingEnum.IN_PROGRESS, StatusDancingEnum.COMPLETED));
+        dashboardCounters.onChange(DashboardCounterEvent.present(LocalDate.now(), 1));
+        dashboardCounters.onChange(DashboardCounterEvent.present(LocalDate.now().minusDays(1), 5));
+
+        DashboardStatsDto stats = dashboardCounters.snapshot();
+
+        assertEquals(11, stats.totalStudents());
+        assertEquals(23, stats.activeEnrollments());
+        assertEquals(6, stats.totalClasses());
+        assertEquals(3, stats.classesByStatus().get("IN_PROGRESS"));
+        assertEquals(3, stats.classesByStatus().get("COMPLETED"));
+        assertEquals(5, stats.todayAttendance());
+        verify(studentRepository, times(1)).count();
+        verify(attendanceRepository, times(1)).countByAttendanceDateAndStatus(any(), any());
+    }
+
+    private static DancingClassRepository.StatusCount statusCount(StatusDancingEnum status, long total) {
+        return new DancingClassRepository.StatusCount() {
+            @Override
+            public StatusDancingEnum getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
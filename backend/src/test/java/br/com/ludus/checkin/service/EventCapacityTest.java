@@ -0,0 +1,113 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.dto.event.AddParticipantDto;
+
+/** Sign-ups racing for the last seats of an event against a real Postgres. */
+@SpringBootTest(properties = "whatsapp.outbox.poll-interval-ms=3600000")
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventCapacityTest {
+
+    private static final int STUDENTS = 20;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource);
+        if (jdbc.queryForObject("SELECT count(*) FROM student", Long.class) == 0) {
+            jdbc.update("""
+                    INSERT INTO student (id, name, cpf, contact, is_active, enrollment_date)
+                    SELECT n, 'Aluno ' || n, lpad(n::text, 11, '0'), '1199999' || lpad(n::text, 4, '0'), true, current_date
+                    FROM generate_series(1, ?) n
+                    """, STUDENTS);
+        }
+    }
+
+    @Test
+    void concurrentSignUpsNeverExceedCapacity() throws Exception {
+        Long eventId = createEvent(5);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(STUDENTS)) {
+            for (long studentId = 1; studentId <= STUDENTS; studentId++) {
+                AddParticipantDto dto = new AddParticipantDto(studentId, null, null);
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        eventService.addParticipant(eventId, dto);
+                        return true;
+                    } catch (IllegalStateException full) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            long admitted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                admitted += attempt.get() ? 1 : 0;
+            }
+            assertEquals(5, admitted);
+        }
+
+        assertEquals(5, participantRows(eventId));
+        assertEquals(5, participantCount(eventId));
+    }
+
+    @Test
+    void duplicateSignUpIsRejectedWithoutTakingASeat() {
+        Long eventId = createEvent(3);
+        eventService.addParticipant(eventId, new AddParticipantDto(1L, null, null));
+
+        assertThrows(IllegalStateException.class,
+                () -> eventService.addParticipant(eventId, new AddParticipantDto(1L, null, null)));
+
+        assertEquals(1, participantRows(eventId));
+        assertEquals(1, participantCount(eventId));
+
+        eventService.removeParticipant(eventId, 1L);
+        assertEquals(0, participantCount(eventId));
+    }
+
+    private Long createEvent(int capacity) {
+        return jdbc.queryForObject("""
+                INSERT INTO event (name, event_date, event_time, has_max_participants, max_participants, status)
+                VALUES ('Baile', current_date, '21:00', true, ?, 'IN_PROGRESS') RETURNING id
+                """, Long.class, capacity);
+    }
+
+    private long participantRows(Long eventId) {
+        return jdbc.queryForObject("SELECT count(*) FROM event_participant WHERE id_event = ?", Long.class, eventId);
+    }
+
+    private int participantCount(Long eventId) {
+        return jdbc.queryForObject("SELECT participant_count FROM event WHERE id = ?", Integer.class, eventId);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.ludus.checkin.model.DancingClass;
+import br.com.ludus.checkin.repository.HolidayRepository;
+import br.com.ludus.checkin.repository.LessonRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LessonCalendarTest {
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @InjectMocks
+    private LessonCalendar lessonCalendar;
+
+    @Test
+    void countOccurrencesMatchesDayByDayCount() {
+        LocalDate base = LocalDate.of(2026, 1, 1);
+        for (int offset = 0; offset < 14; offset++) {
+            LocalDate from = base.plusDays(offset);
+            for (int length = -1; length < 40; length++) {
+                LocalDate to = from.plusDays(length);
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    long expected = from.datesUntil(to.plusDays(1)).filter(d -> d.getDayOfWeek() == dayOfWeek).count();
+                    assertEquals(expected, LessonCalendar.countOccurrences(from, to, dayOfWeek), from + ".." + to + " " + dayOfWeek);
+                }
+            }
+        }
+    }
+
+    @Test
+    void countLessonsSkipsHolidaysOnTheClassWeekday() {
+        LocalDate from = LocalDate.of(2026, 3, 2); // segunda-feira
+        LocalDate to = LocalDate.of(2026, 3, 30);
+        Set<LocalDate> holidays = Set.of(
+                LocalDate.of(2026, 3, 9),   // segunda, dentro do período
+                LocalDate.of(2026, 3, 10),  // terça, outro dia da semana
+                LocalDate.of(2026, 4, 6));  // segunda, fora do período
+
+        assertEquals(4, LessonCalendar.countLessons(from, to, DayOfWeek.MONDAY, holidays));
+    }
+
+    @Test
+    void materializeInsertsEveryTermDayExceptHolidays() {
+        DancingClass dancingClass = new DancingClass();
+        dancingClass.setId(7L);
+        dancingClass.setDayWeek(DayOfWeek.WEDNESDAY);
+        dancingClass.setStartDate(LocalDate.of(2026, 3, 1));
+        dancingClass.setEndDate(LocalDate.of(2026, 3, 31));
+        dancingClass.setStartSchedule(LocalTime.of(19, 0));
+        dancingClass.setEndSchedule(LocalTime.of(20, 30));
+        when(holidayRepository.findDaysBetween(dancingClass.getStartDate(), dancingClass.getEndDate()))
+                .thenReturn(List.of(LocalDate.of(2026, 3, 18)));
+        when(lessonRepository.insertMissing(eq(7L), any(), any(), any())).thenReturn(3);
+
+        assertEquals(3, lessonCalendar.materialize(dancingClass));
+
+        verify(lessonRepository).insertMissing(7L,
+                List.of(LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 25)),
+                LocalTime.of(19, 0), LocalTime.of(20, 30));
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.SqlRecorder;
+import br.com.ludus.checkin.model.DancingClassHeader;
+import br.com.ludus.checkin.repository.BeatRepository;
+import br.com.ludus.checkin.security.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/** Reference data served from the second-level cache, and evicted by the soft-delete queries. */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.ludus.checkin.SqlRecorder",
+        "whatsapp.outbox.poll-interval-ms=3600000"
+})
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BeatService beatService;
+
+    @Autowired
+    private BeatRepository beatRepository;
+
+    @Autowired
+    private DancingClassService dancingClassService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void beatIsReadOnceAndEvictedBySoftDelete() {
+        Long beatId = beatService.create("cache").getId();
+
+        List<String> first = statements(() -> beatService.findById(beatId));
+        List<String> second = statements(() -> beatService.findById(beatId));
+
+        assertEquals(0, second.size(), () -> String.join("\n", second));
+        assertTrue(first.size() <= 1, () -> String.join("\n", first));
+        assertTrue(meterRegistry.get("cache.gets").tags("cache", "beat", "result", "hit").functionCounter().count() >= 1);
+
+        transactionTemplate.executeWithoutResult(status -> beatRepository.deleteById(beatId));
+
+        assertThrows(NoSuchElementException.class, () -> beatService.findById(beatId));
+    }
+
+    @Test
+    void classHeaderIsReadOnceAndEvictedBySoftDelete() {
+        new JdbcTemplate(dataSource).update("""
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES (1, 'BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date, current_date + 90, 2)
+                """);
+
+        statements(() -> transactionTemplate.execute(status -> dancingClassService.findHeader(1L).getBeat().getName()));
+        List<String> warm = statements(
+                () -> transactionTemplate.execute(status -> dancingClassService.findHeader(1L).getBeat().getName()));
+
+        assertEquals(0, warm.size(), () -> String.join("\n", warm));
+
+        dancingClassService.delete(1L);
+
+        assertThrows(NoSuchElementException.class, () -> dancingClassService.findHeader(1L));
+    }
+
+    @Test
+    void deletedClassHeaderIsEvictedFromTheRegion() {
+        new JdbcTemplate(dataSource).update("""
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES (2, 'BEGINNER', 'IN_PROGRESS', 'TUESDAY', '19:00', '20:30', current_date, current_date + 90, 2)
+                """);
+        dancingClassService.findHeader(2L);
+        assertTrue(entityManagerFactory.getCache().contains(DancingClassHeader.class, 2L));
+
+        dancingClassService.delete(2L);
+
+        // The bulk UPDATE alone leaves the header region untouched; the service evicts it.
+        assertFalse(entityManagerFactory.getCache().contains(DancingClassHeader.class, 2L));
+        assertThrows(NoSuchElementException.class, () -> dancingClassService.findHeader(2L));
+    }
+
+    @Test
+    void userRolesComeFromTheCollectionCache() {
+        Long userId = transactionTemplate.execute(status -> userRepository.findByUsername("adm").orElseThrow().getId());
+
+        List<String> roles = statements(() -> transactionTemplate.execute(
+                status -> userRepository.findById(userId).orElseThrow().getRoles()));
+
+        assertEquals(1, roles.size(), () -> String.join("\n", roles));
+        assertFalse(roles.get(0).contains("user_permission"), roles.get(0));
+    }
+
+    private static List<String> statements(Runnable operation) {
+        SqlRecorder.clear();
+        operation.run();
+        return SqlRecorder.statements();
+    }
+}
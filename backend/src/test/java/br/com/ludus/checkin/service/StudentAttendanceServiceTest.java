@@ -0,0 +1,123 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.com.ludus.checkin.EmbeddedPostgresConfig;
+import br.com.ludus.checkin.SqlRecorder;
+import br.com.ludus.checkin.dto.attendance.AttendanceStatusDto;
+import br.com.ludus.checkin.dto.attendance.StudentAttendanceItemDto;
+import br.com.ludus.checkin.dto.attendance.UpdateAttendanceBatchDto;
+
+/** The attendance sheet upsert against a real Postgres: repeated saves, repeated students and the roster check. */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.ludus.checkin.SqlRecorder",
+        "whatsapp.outbox.poll-interval-ms=3600000"
+})
+@Import(EmbeddedPostgresConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class StudentAttendanceServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now();
+
+    @Autowired
+    private StudentAttendanceService studentAttendanceService;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        if (jdbc.queryForObject("SELECT count(*) FROM dancing_class WHERE id = 1", Long.class) > 0) {
+            jdbc.update("DELETE FROM student_attendance");
+            return;
+        }
+        // Students 1-3 enrolled in class 1; student 4 exists but is not enrolled.
+        jdbc.execute("""
+                INSERT INTO student (id, name, contact, is_active, enrollment_date)
+                SELECT n, 'Aluno ' || n, '1199999' || lpad(n::text, 4, '0'), true, current_date
+                FROM generate_series(1, 4) n;
+                INSERT INTO dancing_class (id, level, status, day_week, start_schedule, end_schedule, start_date, end_date, beat)
+                VALUES (1, 'BEGINNER', 'IN_PROGRESS', 'MONDAY', '19:00', '20:30', current_date - 30, current_date + 60, 1);
+                INSERT INTO dancing_class_student (id_dancing_class, id_student) VALUES (1, 1), (1, 2), (1, 3);
+                """);
+    }
+
+    @Test
+    void savingTheSheetAgainUpdatesTheRecordedStatuses() {
+        studentAttendanceService.updateBatch(sheet(item(1L, "PRESENTE"), item(2L, "PRESENTE"), item(3L, "RECUSADO")));
+        var sheet = studentAttendanceService.updateBatch(sheet(item(2L, "RECUSADO"), item(3L, "presente")));
+
+        assertEquals(List.of("PRESENTE", "RECUSADO", "PRESENTE"), sheet.stream().map(StudentAttendanceItemDto::status).toList());
+        assertEquals(3, jdbc.queryForObject("SELECT count(*) FROM student_attendance WHERE class_id = 1", Long.class));
+    }
+
+    @Test
+    void repeatedStudentKeepsTheLastStatus() {
+        studentAttendanceService.updateBatch(sheet(item(1L, "RECUSADO"), item(2L, "PRESENTE"), item(1L, "PRESENTE")));
+        studentAttendanceService.updateBatch(sheet(item(2L, "PRESENTE"), item(2L, "RECUSADO")));
+
+        assertEquals(List.of("PRESENTE", "RECUSADO"), statuses());
+    }
+
+    @Test
+    void presentDeltaComesFromTheUpsertItself() {
+        long before = dashboardCounters.snapshot().todayAttendance();
+
+        SqlRecorder.clear();
+        studentAttendanceService.updateBatch(sheet(item(1L, "PRESENTE"), item(2L, "PRESENTE"), item(3L, "RECUSADO")));
+        List<String> statements = SqlRecorder.statements();
+        assertEquals(before + 2, dashboardCounters.snapshot().todayAttendance());
+        assertTrue(statements.stream().noneMatch(sql -> sql.toLowerCase().contains("count(")), () -> String.join("\n", statements));
+
+        studentAttendanceService.updateBatch(sheet(item(2L, "RECUSADO"), item(3L, "PRESENTE")));
+        assertEquals(before + 2, dashboardCounters.snapshot().todayAttendance());
+
+        studentAttendanceService.updateBatch(sheet(item(1L, "RECUSADO"), item(2L, "RECUSADO")));
+        assertEquals(before + 1, dashboardCounters.snapshot().todayAttendance());
+    }
+
+    @Test
+    void studentsOutsideTheRosterRejectTheWholeSheet() {
+        var notEnrolled = assertThrows(IllegalArgumentException.class,
+                () -> studentAttendanceService.updateBatch(sheet(item(1L, "PRESENTE"), item(4L, "PRESENTE"))));
+        var unknown = assertThrows(IllegalArgumentException.class,
+                () -> studentAttendanceService.updateBatch(sheet(item(2L, "PRESENTE"), item(999L, "PRESENTE"))));
+
+        assertTrue(notEnrolled.getMessage().contains("[4]"), notEnrolled.getMessage());
+        assertTrue(unknown.getMessage().contains("[999]"), unknown.getMessage());
+        assertEquals(List.of(), statuses());
+    }
+
+    private List<String> statuses() {
+        return jdbc.queryForList("SELECT status FROM student_attendance WHERE class_id = 1 ORDER BY student_id", String.class);
+    }
+
+    private static UpdateAttendanceBatchDto sheet(AttendanceStatusDto... items) {
+        return new UpdateAttendanceBatchDto(1L, DAY, List.of(items));
+    }
+
+    private static AttendanceStatusDto item(Long studentId, String status) {
+        return new AttendanceStatusDto(studentId, status);
+    }
+}
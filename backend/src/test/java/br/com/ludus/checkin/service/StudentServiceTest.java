@@ -0,0 +1,127 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import br.com.ludus.checkin.dto.student.StudentCreateDto;
+import br.com.ludus.checkin.model.Student;
+import br.com.ludus.checkin.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StudentService studentService;
+
+    @Test
+    void shouldSearchWithNormalizedTermAndChainCursor() {
+        when(studentRepository.search(eq("joao conceicao"), eq(-1f), eq(0L), eq(3)))
+                .thenReturn(List.of(row(7L, 0.1f), row(3L, 0.25f), row(9L, 0.25f)));
+
+        var firstPage = studentService.search("  João  Conceição ", null, 2);
+
+        assertEquals(2, firstPage.content().size());
+        assertEquals(0.9f, firstPage.content().get(0).score(), 0.0001f);
+
+        when(studentRepository.search(eq("joao conceicao"), eq(0.25f), eq(3L), eq(3)))
+                .thenReturn(List.of(row(9L, 0.25f)));
+
+        var secondPage = studentService.search("joão conceição", firstPage.nextCursor(), 2);
+
+        assertEquals(1, secondPage.content().size());
+        assertEquals(9L, secondPage.content().get(0).id());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void shouldSearchDigitsWithoutPunctuation() {
+        when(studentRepository.search(eq("12345678900"), anyFloat(), anyLong(), eq(21))).thenReturn(List.of());
+
+        studentService.search("123.456.789-00", null, null);
+
+        verify(studentRepository).search("12345678900", -1f, 0L, 21);
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> studentService.search("ana", "???", 10));
+    }
+
+    @Test
+    void shouldImportStudentsWithoutCpf() {
+        when(studentRepository.findExistingCpfs(new String[] { "12345678900" })).thenReturn(List.of());
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Student> saved = studentService.importStudents(List.of(
+                student("Ana", "(11) 99999-0001", null),
+                student("Bruno", "11 99999-0002", " "),
+                student("Carla", "11999990003", "123.456.789-00")));
+
+        assertEquals(3, saved.size());
+        assertNull(saved.get(0).getCpf());
+        assertNull(saved.get(1).getCpf());
+        assertEquals("12345678900", saved.get(2).getCpf());
+        assertEquals("11999990001", saved.get(0).getContact());
+    }
+
+    @Test
+    void shouldRejectImportWithRegisteredCpf() {
+        when(studentRepository.findExistingCpfs(any())).thenReturn(List.of("98765432100"));
+
+        var error = assertThrows(IllegalArgumentException.class, () -> studentService.importStudents(List.of(
+                student("Ana", "11999990001", "123.456.789-00"),
+                student("Bruno", "11999990002", "987.654.321-00"))));
+
+        assertEquals("CPF já cadastrado: [98765432100]", error.getMessage());
+        verify(studentRepository).findExistingCpfs(argThat(cpfs -> Set.of(cpfs).equals(Set.of("12345678900", "98765432100"))));
+        verify(studentRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRejectImportWithoutContact() {
+        assertThrows(IllegalArgumentException.class, () -> studentService.importStudents(List.of(
+                student("Ana", null, "12345678900"))));
+
+        verify(studentRepository, never()).saveAll(anyList());
+    }
+
+    private static Student student(String name, String contact, String cpf) {
+        return new StudentCreateDto(name, contact, cpf, null, null).toEntity();
+    }
+
+    private StudentRepository.SearchRow row(Long id, float distance) {
+        return new StudentRepository.SearchRow() {
+            public Long getId() { return id; }
+            public String getName() { return "Aluno " + id; }
+            public String getCpf() { return null; }
+            public String getContact() { return "11999999999"; }
+            public Float getDistance() { return distance; }
+        };
+    }
+}
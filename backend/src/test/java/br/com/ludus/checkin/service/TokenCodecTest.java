@@ -0,0 +1,28 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenCodecTest {
+
+    private final TokenCodec tokenCodec = new TokenCodec();
+
+    @Test
+    void shouldHashWithSha256InLowercaseHex() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", tokenCodec.hash("abc"));
+        assertEquals(tokenCodec.hash("abc"), tokenCodec.hash("abc"));
+    }
+
+    @Test
+    void shouldGenerateDistinctHexTokens() {
+        String first = tokenCodec.newToken();
+        String second = tokenCodec.newToken();
+
+        assertEquals(TokenCodec.TOKEN_BYTES * 2, first.length());
+        assertTrue(first.matches("[0-9a-f]+"));
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.ludus.checkin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import br.com.ludus.checkin.enums.DeliveryStatusEnum;
+import br.com.ludus.checkin.enums.OutboxStatusEnum;
+import br.com.ludus.checkin.model.WhatsAppOutboxMessage;
+import br.com.ludus.checkin.repository.AttendanceRequestRepository;
+import br.com.ludus.checkin.repository.WhatsAppOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WhatsAppOutboxServiceTest {
+
+    @Mock
+    private WhatsAppOutboxRepository outboxRepository;
+
+    @Mock
+    private AttendanceRequestRepository attendanceRequestRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private WhatsAppOutboxService outboxService;
+
+    @BeforeEach
+    void setup() {
+        outboxService = new WhatsAppOutboxService(
+                outboxRepository, attendanceRequestRepository, eventPublisher, 3, 30, 300, 120);
+    }
+
+    @Test
+    void shouldDoubleBackoffUpToTheConfiguredMaximum() {
+        assertEquals(Duration.ofSeconds(30), outboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), outboxService.backoff(2));
+        assertEquals(Duration.ofSeconds(240), outboxService.backoff(4));
+        assertEquals(Duration.ofSeconds(300), outboxService.backoff(5));
+        assertEquals(Duration.ofSeconds(300), outboxService.backoff(60));
+    }
+
+    @Test
+    void shouldClaimDueMessagesWithLease() {
+        WhatsAppOutboxMessage message = buildMessage(1);
+        message.setStatus(OutboxStatusEnum.PENDING);
+        message.setAttempts(0);
+        when(outboxRepository.findDueForUpdate(any(), eq(10))).thenReturn(List.of(message));
+
+        List<WhatsAppOutboxMessage> claimed = outboxService.claimBatch(10);
+
+        assertEquals(1, claimed.size());
+        assertEquals(OutboxStatusEnum.SENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertEquals(true, message.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(100)));
+    }
+
+    @Test
+    void shouldRescheduleFailedMessageWhileAttemptsRemain() {
+        WhatsAppOutboxMessage message = buildMessage(2);
+        when(outboxRepository.completeAttempt(eq(1L), eq(2), eq(OutboxStatusEnum.SENDING), eq(OutboxStatusEnum.PENDING),
+                isNull(), any(), eq("timeout"))).thenReturn(1);
+
+        outboxService.markFailed(message, "timeout");
+
+        verify(attendanceRequestRepository, never()).updateDeliveryStatus(any(), any(), any());
+    }
+
+    @Test
+    void shouldGiveUpAndFlagAttendanceRequestWhenAttemptsAreExhausted() {
+        WhatsAppOutboxMessage message = buildMessage(3);
+        when(outboxRepository.completeAttempt(eq(1L), anyInt(), any(), eq(OutboxStatusEnum.FAILED),
+                isNull(), any(), any())).thenReturn(1);
+
+        outboxService.markFailed(message, "Falha ao enviar mensagem no Twilio.");
+
+        verify(attendanceRequestRepository).updateDeliveryStatus(10L, DeliveryStatusEnum.FAILED, null);
+    }
+
+    private WhatsAppOutboxMessage buildMessage(int attempts) {
+        WhatsAppOutboxMessage message = new WhatsAppOutboxMessage();
+        message.setId(1L);
+        message.setAttendanceRequestId(10L);
+        message.setPhone("11999999999");
+        message.setBody("Olá");
+        message.setStatus(OutboxStatusEnum.SENDING);
+        message.setAttempts(attempts);
+        return message;
+    }
+}
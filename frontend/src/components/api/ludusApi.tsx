@@ -4,6 +4,8 @@ export interface DashboardStats {
     totalStudents: number;
     totalClasses: number;
     activeEnrollments: number;
+    classesByStatus?: Record<string, number>;
+    todayAttendance?: number;
 }
 
 export interface ClassStatusItem {
@@ -15,8 +17,36 @@ export interface ClassStatusItem {
     dayWeek?: string;
 }
 
+export interface RegisterStudentsResult {
+    dancingClassId: number;
+    added: number[];
+    updated: number[];
+    unchanged: number[];
+    unknown: number[];
+}
+
+export interface EventSummaryItem {
+    id: number;
+    name: string;
+    eventDate: string;
+    eventTime: string;
+    status: string;
+    archived: boolean;
+    hasMaxParticipants: boolean;
+    maxParticipants: number;
+    participantCount: number;
+    remainingCapacity: number | null;
+    totalPaid: number;
+}
+
+export interface EventSummaryPage {
+    content: EventSummaryItem[];
+    nextCursor: string | null;
+}
+
 class LudusApi {
     token: string | null;
+    refreshing: Promise<boolean> | null = null;
 
     constructor() {
         this.token = localStorage.getItem('ludus_token');
@@ -27,9 +57,39 @@ class LudusApi {
         localStorage.setItem('ludus_token', token);
     }
 
+    setRefreshToken(refreshToken: string): void {
+        localStorage.setItem('ludus_refresh_token', refreshToken);
+    }
+
     clearToken(): void {
         this.token = null;
         localStorage.removeItem('ludus_token');
+        localStorage.removeItem('ludus_refresh_token');
+    }
+
+    // Troca o refresh token por um novo par; requisições simultâneas compartilham a mesma troca.
+    async refreshSession(): Promise<boolean> {
+        const refreshToken = localStorage.getItem('ludus_refresh_token');
+        if (!refreshToken) return false;
+        if (!this.refreshing) {
+            this.refreshing = fetch(`${API_BASE_URL}/auth/refresh`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken }),
+            })
+                .then(async (response) => {
+                    if (!response.ok) return false;
+                    const body = await response.json();
+                    this.setToken(body.token);
+                    this.setRefreshToken(body.refreshToken);
+                    return true;
+                })
+                .catch(() => false)
+                .finally(() => {
+                    this.refreshing = null;
+                });
+        }
+        return this.refreshing;
     }
 
     getHeaders(): Record<string, string> {
@@ -43,7 +103,7 @@ class LudusApi {
         return headers;
     }
 
-    async request(endpoint: string, options: RequestInit = {}): Promise<any> {
+    async request(endpoint: string, options: RequestInit = {}, retried = false): Promise<any> {
         const url = `${API_BASE_URL}${endpoint}`;
         let response: Response;
         try {
@@ -60,6 +120,9 @@ class LudusApi {
         }
 
         if (response.status === 401) {
+            if (!retried && await this.refreshSession()) {
+                return this.request(endpoint, options, true);
+            }
             this.clearToken();
             globalThis.location.href = '/auth';
             throw new Error('Unauthorized');
@@ -94,10 +157,22 @@ class LudusApi {
             throw new Error('Login failed');
         }
 
-        const token =   response.headers.get("AUTHORIZATION");
+        const body = await response.json();
+        this.setToken(body.token);
+        this.setRefreshToken(body.refreshToken);
+        return body.token;
+    }
 
-        this.setToken(token);
-        return token;
+    async logout(): Promise<void> {
+        const refreshToken = localStorage.getItem('ludus_refresh_token');
+        if (refreshToken) {
+            await fetch(`${API_BASE_URL}/auth/logout`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken }),
+            }).catch(() => undefined);
+        }
+        this.clearToken();
     }
 
     // Students
@@ -111,13 +186,17 @@ class LudusApi {
         return this.request(`/student?${params.toString()}`);
     }
 
-    async searchStudentsByName(name: string, page = 0, size = 20) {
+    async searchStudentsByName(name: string, size = 20, cursor?: string) {
+        if (!name || !name.trim()) {
+            return this.getStudentsForCombo(size);
+        }
         const params = new URLSearchParams();
-        params.set('limit', String(Number(size)));
-        if (name && name.trim()) {
-            params.set('search', name.trim());
+        params.set('q', name.trim());
+        params.set('size', String(Number(size)));
+        if (cursor) {
+            params.set('cursor', cursor);
         }
-        return this.request(`/student?${params.toString()}`);
+        return this.request(`/student/search?${params.toString()}`);
     }
 
     async getStudentsByClass(classId, page = 0, size = 10) {
@@ -131,6 +210,13 @@ class LudusApi {
         });
     }
 
+    async importStudents(students) {
+        return this.request('/student/import', {
+            method: 'POST',
+            body: JSON.stringify(students),
+        });
+    }
+
     async deleteStudent(id) {
         return this.request(`/student/${id}`, { method: 'DELETE' });
     }
@@ -161,7 +247,7 @@ class LudusApi {
         });
     }
 
-    async registerStudents(dancingClassId, enrollments) {
+    async registerStudents(dancingClassId, enrollments): Promise<RegisterStudentsResult> {
         return this.request('/dancing-class/students', {
             method: 'PATCH',
             body: JSON.stringify({ dancingClassId, enrollments }),
@@ -191,6 +277,14 @@ class LudusApi {
         });
     }
 
+    // Virada de semestre: cada turma volta com o id da nova turma ou o motivo da falha.
+    async progressClasses(classes: { classId: number; newLevel: string; startDate: string; endDate: string }[]) {
+        return this.request('/dancing-class/progress', {
+            method: 'POST',
+            body: JSON.stringify({ classes }),
+        });
+    }
+
     async getClassesStatus(signal?: AbortSignal): Promise<ClassStatusItem[]> {
         return this.request('/dancing-class/status', { signal });
     }
@@ -220,6 +314,17 @@ class LudusApi {
         return this.request('/event');
     }
 
+    async getEventSummary(filters: { status?: string; archived?: boolean; from?: string; to?: string; cursor?: string; size?: number } = {}): Promise<EventSummaryPage> {
+        const params = new URLSearchParams();
+        if (filters.status) params.set('status', filters.status);
+        if (filters.archived !== undefined) params.set('archived', String(filters.archived));
+        if (filters.from) params.set('from', filters.from);
+        if (filters.to) params.set('to', filters.to);
+        if (filters.cursor) params.set('cursor', filters.cursor);
+        if (filters.size) params.set('size', String(Number(filters.size)));
+        return this.request(`/event/summary?${params.toString()}`);
+    }
+
     async getEvent(id) {
         return this.request(`/event/${id}`);
     }
@@ -280,6 +385,37 @@ class LudusApi {
         });
     }
 
+    async updateAttendanceBatch(data: { classId: number; attendanceDate: string; items: { studentId: number; status: string }[] }) {
+        return this.request('/student-attendance/batch', {
+            method: 'PUT',
+            body: JSON.stringify(data),
+        });
+    }
+
+    // Baixa o histórico de presenças; o backend envia o arquivo à medida que lê as linhas.
+    async exportAttendance(filters: { from: string; to: string; classId?: number; format?: 'csv' | 'xlsx' }, retried = false): Promise<void> {
+        const params = new URLSearchParams({ from: filters.from, to: filters.to, format: filters.format ?? 'csv' });
+        if (filters.classId) params.set('classId', String(filters.classId));
+        const response = await fetch(`${API_BASE_URL}/student-attendance/export?${params.toString()}`, {
+            headers: this.getHeaders(),
+        });
+        if (response.status === 401 && !retried && await this.refreshSession()) {
+            return this.exportAttendance(filters, true);
+        }
+        if (!response.ok) {
+            const body = await response.json().catch(() => null);
+            throw new Error(body?.message ?? `API Error: ${response.status}`);
+        }
+        const disposition = response.headers.get('Content-Disposition') ?? '';
+        const fileName = /filename="([^"]+)"/.exec(disposition)?.[1] ?? `presencas.${filters.format ?? 'csv'}`;
+        const url = URL.createObjectURL(await response.blob());
+        const link = document.createElement('a');
+        link.href = url;
+        link.download = fileName;
+        link.click();
+        URL.revokeObjectURL(url);
+    }
+
     async sendAttendanceConfirmations(classId: number) {
         return this.request('/student-attendance/confirmations/send', {
             method: 'POST',
@@ -16,8 +16,8 @@ const menuItems = [
 
 export default function Sidebar({ currentPage, isOpen = false, onClose = () => { } }) {
 
-    const handleLogout = () => {
-        ludusApi.clearToken();
+    const handleLogout = async () => {
+        await ludusApi.logout();
         globalThis.location.href = createPageUrl('auth');
     };
 
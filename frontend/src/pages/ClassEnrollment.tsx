@@ -144,14 +144,14 @@ export default function ClassEnrollment() {
     setSuccessMessage(null);
     try {
       const enrollments = selectedBatchIds.map((studentId) => ({ studentId, role: batchRole }));
-      await ludusApi.registerStudents(dancingClass.id, enrollments);
-      const names = students.filter((s) => selectedBatchIds.includes(s.id));
+      const result = await ludusApi.registerStudents(dancingClass.id, enrollments);
+      const names = students.filter((s) => result.added.includes(s.id));
       setEnrolledList((prev) => [
         ...prev,
         ...names.map((s) => ({ studentId: s.id, studentName: s.name ?? '', role: batchRole })),
       ]);
       setSelectedBatchIds([]);
-      setSuccessMessage(`${selectedBatchIds.length} aluno(s) matriculado(s) com sucesso.`);
+      setSuccessMessage(`${result.added.length} aluno(s) matriculado(s) com sucesso.`);
       setTimeout(() => setSuccessMessage(null), 3000);
     } catch (error) {
       console.error('Error enrolling students:', error);
@@ -167,7 +167,7 @@ export default function EventParticipants() {
       try {
         const search = studentSearch.trim();
         const data = search
-          ? await ludusApi.searchStudentsByName(search, 0, 20)
+          ? await ludusApi.searchStudentsByName(search, 20)
           : await ludusApi.getStudentsForCombo(20);
         if (!active) return;
         setStudentOptions(parseStudentList(data));